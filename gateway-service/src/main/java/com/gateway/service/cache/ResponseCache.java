@@ -0,0 +1,242 @@
+package com.gateway.service.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Response Cache for API Gateway
+ * Stores successful GET responses per route, path, query and caller, bounded by the
+ * total number of cached body bytes. Entries are grouped in regions (vehicles, shipments,
+ * issues, ...) that are invalidated as a whole when the owning service publishes a change.
+ */
+@Component
+public class ResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCache.class);
+
+    private static final String METRIC_PREFIX = "gateway.response.cache";
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> regionGenerations = new ConcurrentHashMap<>();
+    private final Map<String, RouteStatistics> routeStatistics = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCache(@Value("${gateway.response-cache.max-bytes:67108864}") long maxBytes,
+                         @Value("${gateway.response-cache.max-entry-bytes:1048576}") int maxEntryBytes,
+                         MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(METRIC_PREFIX + ".bytes", totalBytes, AtomicLong::get)
+            .description("Body bytes currently held by the response cache")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", entries, Map::size)
+            .description("Responses currently held by the response cache")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictions, LongAdder::sum)
+            .description("Responses evicted to stay within the memory budget")
+            .register(meterRegistry);
+    }
+
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public Entry get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (now >= entry.expiresAtMillis) {
+            remove(key, entry);
+            return null;
+        }
+        entry.lastAccessMillis = now;
+        return entry;
+    }
+
+    /**
+     * Current generation of a region. Capture it before calling the upstream service and pass
+     * it back to {@link #put} so a response read before an invalidation is never stored after it.
+     */
+    public long generation(String region) {
+        return regionGenerations.computeIfAbsent(region, name -> new AtomicLong()).get();
+    }
+
+    public void put(Key key, Entry entry, long expectedGeneration) {
+        if (entry.body.length > maxEntryBytes || generation(entry.region) != expectedGeneration) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        totalBytes.addAndGet(entry.body.length - (previous != null ? previous.body.length : 0));
+        // An invalidation may have run between the generation check and the put
+        if (generation(entry.region) != expectedGeneration) {
+            remove(key, entry);
+            return;
+        }
+        if (totalBytes.get() > maxBytes) {
+            evictLeastRecentlyUsed();
+        }
+    }
+
+    public void invalidate(String region) {
+        regionGenerations.computeIfAbsent(region, name -> new AtomicLong()).incrementAndGet();
+        int removed = 0;
+        for (Map.Entry<Key, Entry> cached : entries.entrySet()) {
+            if (cached.getValue().region.equals(region) && remove(cached.getKey(), cached.getValue())) {
+                removed++;
+            }
+        }
+        meterRegistry.counter(METRIC_PREFIX + ".invalidations", "region", region).increment();
+        log.debug("Invalidated {} cached responses for region {}", removed, region);
+    }
+
+    public RouteStatistics statistics(String routeId) {
+        return routeStatistics.computeIfAbsent(routeId, id -> new RouteStatistics(id, meterRegistry));
+    }
+
+    /**
+     * Strong entity tag derived from the response body.
+     */
+    public static String etag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private boolean remove(Key key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            totalBytes.addAndGet(-entry.body.length);
+            return true;
+        }
+        return false;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        // Only one thread evicts; the others keep serving instead of waiting
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long target = maxBytes - maxBytes / 10;
+            if (totalBytes.get() <= target) {
+                return;
+            }
+            // Snapshot access times first, they keep changing while we sort
+            List<EvictionCandidate> candidates = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> candidates.add(new EvictionCandidate(key, entry, entry.lastAccessMillis)));
+            candidates.sort(Comparator.comparingLong(EvictionCandidate::lastAccessMillis));
+            for (EvictionCandidate candidate : candidates) {
+                if (totalBytes.get() <= target) {
+                    break;
+                }
+                if (remove(candidate.key(), candidate.entry())) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private record EvictionCandidate(Key key, Entry entry, long lastAccessMillis) {
+    }
+
+    /**
+     * Identifies a cached response.
+     */
+    public record Key(String routeId, String path, String query, String userId) {
+    }
+
+    /**
+     * A cached response body with the headers needed to replay it.
+     */
+    public static final class Entry {
+        private final String region;
+        private final byte[] body;
+        private final MediaType contentType;
+        private final String etag;
+        private final long expiresAtMillis;
+        private volatile long lastAccessMillis;
+
+        public Entry(String region, byte[] body, MediaType contentType, String etag, long expiresAtMillis) {
+            this.region = region;
+            this.body = body;
+            this.contentType = contentType;
+            this.etag = etag;
+            this.expiresAtMillis = expiresAtMillis;
+            this.lastAccessMillis = System.currentTimeMillis();
+        }
+
+        public byte[] getBody() { return body; }
+
+        public MediaType getContentType() { return contentType; }
+
+        public String getEtag() { return etag; }
+    }
+
+    /**
+     * Hit, miss and not-modified counts of one route, plus its hit ratio.
+     */
+    public static final class RouteStatistics {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder notModified = new LongAdder();
+
+        private RouteStatistics(String routeId, MeterRegistry meterRegistry) {
+            FunctionCounter.builder(METRIC_PREFIX + ".requests", hits, LongAdder::sum)
+                .tags("route", routeId, "result", "hit")
+                .register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + ".requests", misses, LongAdder::sum)
+                .tags("route", routeId, "result", "miss")
+                .register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + ".not.modified", notModified, LongAdder::sum)
+                .tags("route", routeId)
+                .description("Requests answered with 304 because the client's ETag was current")
+                .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".hit.ratio", this, RouteStatistics::hitRatio)
+                .tags("route", routeId)
+                .register(meterRegistry);
+        }
+
+        public void hit() { hits.increment(); }
+
+        public void miss() { misses.increment(); }
+
+        public void notModified() { notModified.increment(); }
+
+        private double hitRatio() {
+            long hitCount = hits.sum();
+            long total = hitCount + misses.sum();
+            return total == 0 ? 0.0 : (double) hitCount / total;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.gateway.service.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verified Token Cache for API Gateway
+ * Keeps the identity headers of tokens whose signature has already been verified,
+ * keyed by a SHA-256 digest of the token, until the token's own expiration.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final String METRIC_PREFIX = "gateway.jwt.cache";
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(@Value("${authorization.jwt.cache.max-entries:10000}") int maxEntries,
+                              MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", hits, LongAdder::sum)
+            .tag("result", "hit")
+            .description("Token lookups answered from the verified token cache")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", misses, LongAdder::sum)
+            .tag("result", "miss")
+            .description("Token lookups that required a full signature verification")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictions, LongAdder::sum)
+            .description("Entries removed because they expired or the cache was full")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", entries, Map::size)
+            .description("Current number of cached tokens")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached identity for the given token digest, or null when the token
+     * has not been verified yet or its expiration has passed.
+     */
+    public VerifiedToken get(String digest) {
+        VerifiedToken token = entries.get(digest);
+        if (token == null) {
+            misses.increment();
+            return null;
+        }
+        if (token.isExpiredAt(System.currentTimeMillis())) {
+            if (entries.remove(digest, token)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return token;
+    }
+
+    public void put(String digest, VerifiedToken token) {
+        if (maxEntries <= 0 || token.isExpiredAt(System.currentTimeMillis())) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            makeRoom();
+        }
+        entries.put(digest, token);
+    }
+
+    /**
+     * Periodically drops expired entries so tokens that are never presented again
+     * do not linger until the cache fills up.
+     */
+    @Scheduled(fixedDelayString = "${authorization.jwt.cache.sweep-interval-ms:30000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.forEach((digest, token) -> {
+            if (token.isExpiredAt(now) && entries.remove(digest, token)) {
+                evictions.increment();
+            }
+        });
+    }
+
+    /**
+     * Digest used as cache key, so raw tokens are never kept in memory longer than the request.
+     */
+    public static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void makeRoom() {
+        evictExpired();
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        // Still full of live tokens: drop a tenth of the entries in one pass to amortize the cost
+        int toRemove = Math.max(1, maxEntries / 10);
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (toRemove > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+            toRemove--;
+        }
+    }
+
+    /**
+     * Identity extracted from a verified token, stored as the ready-to-use header values.
+     */
+    public record VerifiedToken(String userId, String email, String roles, long roleMask, long expiresAtMillis) {
+        boolean isExpiredAt(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+}
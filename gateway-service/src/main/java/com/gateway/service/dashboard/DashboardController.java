@@ -0,0 +1,129 @@
+package com.gateway.service.dashboard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.gateway.service.filter.JwtAuthenticationFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Manager Dashboard for API Gateway
+ * Reached through the {@code manager-dashboard} route, which forwards {@code GET /api/v1/dashboard}
+ * here after JWT authentication and role authorization. Fetches vehicles, shipments, carriers,
+ * issues and profile in parallel through the gateway's own routes (so caching, coalescing and rate
+ * limiting still apply) and streams one JSON document, writing each part as soon as it completes.
+ */
+@RestController
+public class DashboardController {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardController.class);
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final Duration partTimeout;
+
+    public DashboardController(WebClient.Builder webClientBuilder,
+                               ObjectMapper objectMapper,
+                               @Value("${server.port:8080}") int serverPort,
+                               @Value("${gateway.dashboard.part-timeout:3s}") Duration partTimeout) {
+        this.webClient = webClientBuilder.baseUrl("http://localhost:" + serverPort).build();
+        this.objectMapper = objectMapper;
+        this.partTimeout = partTimeout;
+    }
+
+    @GetMapping("/internal/dashboard")
+    public Mono<Void> dashboard(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+        String userId = requestHeaders.getFirst("X-User-Id");
+        // Only requests forwarded by the route were authenticated by JwtAuthenticationFilter
+        if (exchange.getAttribute(JwtAuthenticationFilter.USER_ROLE_MASK_ATTRIBUTE) == null || userId == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return response.setComplete();
+        }
+        String authorization = requestHeaders.getFirst(HttpHeaders.AUTHORIZATION);
+
+        List<Part> parts = List.of(
+            new Part("vehicles", "/api/v1/vehicles/manager/vehicles"),
+            new Part("shipments", "/api/v1/shipments/manager/shipments"),
+            new Part("carriers", "/api/v1/users/managers/" + userId + "/carriers"),
+            new Part("issues", "/api/v1/issues/manager/" + userId),
+            new Part("profile", "/api/v1/profiles/" + userId));
+
+        Flux<String> fragments = Flux.merge(parts.stream().map(part -> fetch(part, authorization)).toList())
+            .index((index, fragment) -> index == 0 ? fragment : "," + fragment);
+        Flux<String> document = Flux.concat(Mono.just("{\"parts\":{"), fragments, Mono.just("}}"));
+
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeAndFlushWith(document.map(chunk -> Mono.just(toBuffer(response, chunk))));
+    }
+
+    private Mono<String> fetch(Part part, String authorization) {
+        return webClient.get()
+            .uri(part.path())
+            .headers(headers -> {
+                if (authorization != null) {
+                    headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                }
+            })
+            .exchangeToMono(clientResponse -> clientResponse.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> {
+                    int status = clientResponse.statusCode().value();
+                    boolean json = clientResponse.headers().contentType()
+                        .map(MediaType.APPLICATION_JSON::isCompatibleWith)
+                        .orElse(false);
+                    return fragment(part, clientResponse.statusCode().is2xxSuccessful() ? "ok" : "error",
+                        status, body, json);
+                }))
+            .timeout(partTimeout)
+            .onErrorResume(TimeoutException.class, e -> Mono.just(fragment(part, "timeout", 0, "", false)))
+            .onErrorResume(e -> {
+                log.warn("Dashboard part {} failed: {}", part.name(), e.getMessage());
+                return Mono.just(fragment(part, "unavailable", 0, "", false));
+            });
+    }
+
+    private String fragment(Part part, String status, int httpStatus, String body, boolean json) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("status", status);
+        if (httpStatus > 0) {
+            node.put("httpStatus", httpStatus);
+        }
+        if (body.isEmpty()) {
+            node.putNull("data");
+        } else if (json) {
+            // Downstream JSON is embedded as is instead of being parsed and serialized again
+            node.putRawValue("data", new RawValue(body));
+        } else {
+            node.put("data", body);
+        }
+        return "\"" + part.name() + "\":" + node;
+    }
+
+    private DataBuffer toBuffer(ServerHttpResponse response, String chunk) {
+        return response.bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record Part(String name, String path) {
+    }
+}
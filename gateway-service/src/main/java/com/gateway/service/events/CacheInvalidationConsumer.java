@@ -0,0 +1,61 @@
+package com.gateway.service.events;
+
+import com.gateway.service.cache.ResponseCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Consumer for domain events that invalidate cached gateway responses.
+ * Bindings have no consumer group, so every gateway instance receives every event.
+ */
+@Component
+public class CacheInvalidationConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationConsumer.class);
+
+    private final ResponseCache responseCache;
+
+    public CacheInvalidationConsumer(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Consumes vehicle-events and vehicle-update-events
+     * @return Consumer function that invalidates the vehicles region
+     */
+    @Bean
+    public Consumer<Message<byte[]>> vehicleChanged() {
+        return invalidating("vehicles");
+    }
+
+    /**
+     * Consumes shipment-events and shipment-update-events
+     * @return Consumer function that invalidates the shipments region
+     */
+    @Bean
+    public Consumer<Message<byte[]>> shipmentChanged() {
+        return invalidating("shipments");
+    }
+
+    /**
+     * Consumes issue-events and issue-update-events
+     * @return Consumer function that invalidates the issues region
+     */
+    @Bean
+    public Consumer<Message<byte[]>> issueChanged() {
+        return invalidating("issues");
+    }
+
+    private Consumer<Message<byte[]>> invalidating(String region) {
+        // The payload is not needed: update events do not carry the owning manager
+        return message -> {
+            log.debug("Received change event for region {}", region);
+            responseCache.invalidate(region);
+        };
+    }
+}
@@ -0,0 +1,462 @@
+package com.gateway.service.filter;
+
+import com.gateway.service.loadbalancer.InstanceLoadTracker;
+import com.gateway.service.loadbalancer.LoadBalancerStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filter hedged requests for API Gateway
+ * Takes over load balancing and routing of GET requests on routes that opt in. The request goes
+ * to the instance chosen by the service's load balancer; if no response has arrived after the
+ * route's latency percentile, a second copy goes to the least loaded other instance and whichever
+ * good response arrives first is returned. Hedges are limited by a budget (a share of the route's
+ * requests) so a slow service cannot double its own load, and instances ejected by their circuit
+ * breaker are skipped for both copies. Both copies carry the headers NettyRoutingFilter would send
+ * (X-Forwarded-*, hop-by-hop headers removed), and the winner's body is streamed to the client
+ * rather than buffered, so its size is not limited.
+ */
+@Component
+public class HedgedRequestFilter extends AbstractGatewayFilterFactory<HedgedRequestFilter.Config> {
+
+    /**
+     * Runs after RouteToRequestUrlFilter and instead of ReactiveLoadBalancerClientFilter and NettyRoutingFilter.
+     */
+    public static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+
+    private static final String METRIC_PREFIX = "gateway.hedging";
+
+    /**
+     * Responses needed before the route's percentile is trusted; until then nothing is hedged.
+     */
+    private static final long MIN_SAMPLES = 100;
+
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+    private final InstanceLoadTracker tracker;
+    private final WebClient webClient;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final int maxBodyBytes;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public HedgedRequestFilter(LoadBalancerClientFactory loadBalancerClientFactory,
+                               InstanceLoadTracker tracker,
+                               WebClient.Builder webClientBuilder,
+                               ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                               @Value("${gateway.hedging.max-body-bytes:4194304}") int maxBodyBytes,
+                               MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+        this.tracker = tracker;
+        this.webClient = webClientBuilder.build();
+        this.headersFilters = headersFilters;
+        this.maxBodyBytes = maxBodyBytes;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (config.getPercentile() <= 0 || config.getPercentile() >= 100 || config.getBudgetPercent() < 0) {
+            throw new IllegalArgumentException("HedgedRequestFilter requires 0 < percentile < 100 and a non-negative budget-percent");
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        HedgeBudget budget = new HedgeBudget(config.getBudgetPercent(), config.getMinBudget());
+
+        GatewayFilter filter = (exchange, chain) -> {
+            URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+            if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())
+                || requestUrl == null || !"lb".equals(requestUrl.getScheme())
+                || ServerWebExchangeUtils.isAlreadyRouted(exchange)) {
+                return chain.filter(exchange);
+            }
+            ServerWebExchangeUtils.setAlreadyRouted(exchange);
+            budget.deposit();
+            String serviceId = requestUrl.getHost();
+
+            return instances(serviceId).flatMap(instances -> instances.isEmpty()
+                ? serviceUnavailable(exchange)
+                : primary(serviceId, instances).flatMap(primary ->
+                    race(exchange, requestUrl, instances, primary, config, histogram, budget)));
+        };
+        return new OrderedGatewayFilter(filter, ORDER);
+    }
+
+    /**
+     * Sends the first copy, and a hedge after the route's percentile delay when the budget allows,
+     * then writes the first good response (or the first copy's failure). The first good response
+     * cancels the other copy.
+     */
+    private Mono<Void> race(ServerWebExchange exchange, URI requestUrl, List<ServiceInstance> instances,
+                            ServiceInstance primary, Config config, LatencyHistogram histogram, HedgeBudget budget) {
+        String routeId = routeId(exchange);
+        HttpHeaders headers = requestHeaders(exchange);
+        Mono<Attempt> first = attempt(requestUrl, headers, primary, config);
+        Mono<Attempt> hedge = hedgeDelay(histogram, config)
+            .flatMap(delay -> Mono.delay(delay).then(Mono.defer(() -> {
+                ServiceInstance alternate = leastLoaded(instances, primary);
+                if (alternate == null) {
+                    return Mono.<Attempt>empty();
+                }
+                if (!budget.tryWithdraw()) {
+                    counter("budget.exhausted", routeId).increment();
+                    return Mono.<Attempt>empty();
+                }
+                counter("hedges", routeId).increment();
+                return attempt(requestUrl, headers, alternate, config).map(Attempt::asHedge);
+            })));
+        return Flux.merge(first, hedge)
+            .takeUntil(Attempt::isGood)
+            .collectList()
+            .flatMap(attempts -> {
+                Attempt last = attempts.get(attempts.size() - 1);
+                Attempt winner = last.isGood() ? last
+                    : attempts.stream().filter(attempt -> !attempt.hedge()).findFirst().orElse(last);
+                if (winner.response() != null) {
+                    exchange.getAttributes().put(UpstreamResponseTimingFilter.RESPONSE_NANOS_ATTRIBUTE, System.nanoTime());
+                }
+                if (winner.isGood()) {
+                    histogram.record(winner.latencyNanos());
+                    counter("winners", routeId, "copy", winner.hedge() ? "hedge" : "primary").increment();
+                }
+                exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, winner.uri());
+                return write(exchange, winner);
+            });
+    }
+
+    private Mono<List<ServiceInstance>> instances(String serviceId) {
+        ServiceInstanceListSupplier supplier = loadBalancerClientFactory.getInstance(serviceId, ServiceInstanceListSupplier.class);
+        if (supplier == null) {
+            return Mono.just(List.of());
+        }
+        return supplier.get().next().defaultIfEmpty(List.of());
+    }
+
+    private Mono<Void> serviceUnavailable(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        return exchange.getResponse().setComplete();
+    }
+
+    /**
+     * The service's own load balancer decides the first copy, falling back to the least loaded
+     * available instance when it picks one whose circuit breaker is open.
+     */
+    private Mono<ServiceInstance> primary(String serviceId, List<ServiceInstance> instances) {
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = loadBalancerClientFactory.getInstance(serviceId);
+        Mono<ServiceInstance> chosen = loadBalancer == null ? Mono.empty()
+            : Mono.from(loadBalancer.choose(new DefaultRequest<>())).filter(Response::hasServer).map(Response::getServer);
+        return chosen
+            .filter(tracker::isAvailable)
+            .switchIfEmpty(Mono.fromSupplier(() -> leastLoaded(instances, null)))
+            .switchIfEmpty(Mono.fromSupplier(() -> instances.get(0)));
+    }
+
+    private ServiceInstance leastLoaded(List<ServiceInstance> instances, ServiceInstance excluded) {
+        return instances.stream()
+            .filter(instance -> excluded == null || !sameAddress(instance, excluded))
+            .filter(tracker::isAvailable)
+            .min(Comparator.comparingDouble(instance -> tracker.cost(instance, LoadBalancerStrategy.PEAK_EWMA)))
+            .orElse(null);
+    }
+
+    private Mono<Duration> hedgeDelay(LatencyHistogram histogram, Config config) {
+        if (histogram.count() < MIN_SAMPLES) {
+            return Mono.empty();
+        }
+        long percentileNanos = histogram.percentileNanos(config.getPercentile() / 100.0);
+        return Mono.just(Duration.ofNanos(Math.max(percentileNanos, config.getMinDelay().toNanos())));
+    }
+
+    /**
+     * The headers NettyRoutingFilter would send: the gateway's request header filters applied, and
+     * Host left to the client unless the route preserves it.
+     */
+    private HttpHeaders requestHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange));
+        if (!exchange.getAttributeOrDefault(ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE, false)) {
+            headers.remove(HttpHeaders.HOST);
+        }
+        return headers;
+    }
+
+    private Mono<Attempt> attempt(URI requestUrl, HttpHeaders headers, ServiceInstance instance, Config config) {
+        URI uri = UriComponentsBuilder.fromUri(requestUrl)
+            .scheme(instance.isSecure() ? "https" : "http")
+            .host(instance.getHost())
+            .port(instance.getPort())
+            .build(true)
+            .toUri();
+        return Mono.defer(() -> {
+            long start = tracker.now();
+            tracker.started(instance);
+            AtomicBoolean finished = new AtomicBoolean();
+            return webClient.get()
+                .uri(uri)
+                .headers(requestHeaders -> requestHeaders.putAll(headers))
+                .retrieve()
+                // Error statuses are responses like any other; isGood decides which ones lose the race
+                .onStatus(HttpStatusCode::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .flatMap(entity -> entity.getStatusCode().is5xxServerError() ? buffered(entity) : Mono.just(entity))
+                .timeout(config.getResponseTimeout())
+                .map(entity -> new Attempt(uri, entity, null, tracker.now() - start, false))
+                .onErrorResume(e -> Mono.just(new Attempt(uri, null, e, tracker.now() - start, false)))
+                .doOnNext(attempt -> {
+                    finished.set(true);
+                    tracker.completed(instance, attempt.latencyNanos(), !attempt.isGood());
+                })
+                // The losing copy is cancelled; it frees its in-flight slot but leaves the circuit breaker alone
+                .doOnCancel(() -> {
+                    if (finished.compareAndSet(false, true)) {
+                        tracker.cancelled(instance, tracker.now() - start);
+                    }
+                });
+        });
+    }
+
+    /**
+     * A failed response may still be written once the hedge has answered, so its body is read now,
+     * up to max-body-bytes, instead of holding the connection open; a longer body is dropped.
+     */
+    private Mono<ResponseEntity<Flux<DataBuffer>>> buffered(ResponseEntity<Flux<DataBuffer>> entity) {
+        Flux<DataBuffer> body = entity.getBody() != null ? entity.getBody() : Flux.empty();
+        return DataBufferUtils.join(body, maxBodyBytes)
+            .map(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                return bytes;
+            })
+            .onErrorResume(DataBufferLimitException.class, e -> Mono.just(new byte[0]))
+            .defaultIfEmpty(new byte[0])
+            .map(bytes -> {
+                HttpHeaders headers = new HttpHeaders();
+                headers.putAll(entity.getHeaders());
+                headers.setContentLength(bytes.length);
+                Flux<DataBuffer> replay = Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes)));
+                return new ResponseEntity<>(replay, headers, entity.getStatusCode());
+            });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Attempt attempt) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (attempt.response() == null) {
+            response.setStatusCode(attempt.error() instanceof TimeoutException
+                ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY);
+            return response.setComplete();
+        }
+        ResponseEntity<Flux<DataBuffer>> entity = attempt.response();
+        response.setStatusCode(entity.getStatusCode());
+        HttpHeaders upstream = HttpHeadersFilter.filter(headersFilters.getIfAvailable(), entity.getHeaders(),
+            exchange, HttpHeadersFilter.Type.RESPONSE);
+        if (upstream.getContentType() != null) {
+            exchange.getAttributes().put(ServerWebExchangeUtils.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR,
+                upstream.getFirst(HttpHeaders.CONTENT_TYPE));
+        }
+        // Keep headers this exchange already has (CORS), copy the upstream ones
+        upstream.forEach((name, values) -> {
+            if (!response.getHeaders().containsKey(name)) {
+                response.getHeaders().put(name, values);
+            }
+        });
+        if (entity.getBody() == null) {
+            return response.setComplete();
+        }
+        return response.writeWith(entity.getBody());
+    }
+
+    private boolean sameAddress(ServiceInstance a, ServiceInstance b) {
+        return a.getHost().equals(b.getHost()) && a.getPort() == b.getPort();
+    }
+
+    private Counter counter(String name, String routeId, String... tags) {
+        String key = name + "/" + routeId + "/" + String.join("/", tags);
+        return counters.computeIfAbsent(key, k -> Counter.builder(METRIC_PREFIX + "." + name)
+            .tag("route", routeId)
+            .tags(tags)
+            .register(meterRegistry));
+    }
+
+    private String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private record Attempt(URI uri, ResponseEntity<Flux<DataBuffer>> response, Throwable error, long latencyNanos, boolean hedge) {
+        boolean isGood() {
+            return response != null && !response.getStatusCode().is5xxServerError();
+        }
+
+        Attempt asHedge() {
+            return new Attempt(uri, response, error, latencyNanos, true);
+        }
+    }
+
+    /**
+     * Hedge allowance in thousandths of a hedge: every request deposits its budget share and every
+     * hedge withdraws a whole one. The balance is capped so a quiet period cannot bank a burst.
+     */
+    private static final class HedgeBudget {
+        private final long depositMillis;
+        private final long capMillis;
+        private final AtomicLong balanceMillis = new AtomicLong();
+
+        private HedgeBudget(double budgetPercent, int minBudget) {
+            this.depositMillis = Math.round(budgetPercent * 10);
+            this.capMillis = Math.max(1, minBudget) * 1000L;
+            this.balanceMillis.set(capMillis);
+        }
+
+        private void deposit() {
+            balanceMillis.getAndUpdate(balance -> Math.min(capMillis, balance + depositMillis));
+        }
+
+        private boolean tryWithdraw() {
+            while (true) {
+                long balance = balanceMillis.get();
+                if (balance < 1000) {
+                    return false;
+                }
+                if (balanceMillis.compareAndSet(balance, balance - 1000)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Log-linear latency histogram (eight sub-buckets per power of two, in microseconds, up to about
+     * twelve days) used to derive the hedge delay. Counts are halved whenever the total doubles past the window, so the
+     * percentile follows recent traffic.
+     */
+    private static final class LatencyHistogram {
+        private static final long MAX_MICROS = (1L << 40) - 1;
+        private static final int BUCKETS = 8 * 38;
+        private static final long WINDOW = 4096;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong total = new AtomicLong();
+
+        private void record(long latencyNanos) {
+            counts.incrementAndGet(bucket(TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            long count = total.incrementAndGet();
+            if (count >= 2 * WINDOW && total.compareAndSet(count, count / 2)) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    long value = counts.get(i);
+                    counts.addAndGet(i, -(value - value / 2));
+                }
+            }
+        }
+
+        private long count() {
+            return total.get();
+        }
+
+        private long percentileNanos(double percentile) {
+            long target = (long) Math.ceil(total.get() * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts.get(i);
+                if (seen >= target) {
+                    return TimeUnit.MICROSECONDS.toNanos(lowerBound(i + 1));
+                }
+            }
+            return TimeUnit.MICROSECONDS.toNanos(lowerBound(BUCKETS));
+        }
+
+        private static int bucket(long micros) {
+            if (micros < 8) {
+                return (int) Math.max(0, micros);
+            }
+            long bounded = Math.min(micros, MAX_MICROS);
+            int exponent = 63 - Long.numberOfLeadingZeros(bounded);
+            int subBucket = (int) (bounded >>> (exponent - 3)) & 7;
+            return (exponent - 2) * 8 + subBucket;
+        }
+
+        private static long lowerBound(int bucket) {
+            if (bucket < 8) {
+                return bucket;
+            }
+            int exponent = bucket / 8 + 2;
+            return (8L + bucket % 8) << (exponent - 3);
+        }
+    }
+
+    public static class Config {
+        private double percentile = 95;
+        private Duration minDelay = Duration.ofMillis(20);
+        private double budgetPercent = 5;
+        private int minBudget = 10;
+        private Duration responseTimeout = Duration.ofSeconds(10);
+
+        public double getPercentile() { return percentile; }
+
+        public void setPercentile(double percentile) { this.percentile = percentile; }
+
+        public Duration getMinDelay() { return minDelay; }
+
+        public void setMinDelay(Duration minDelay) { this.minDelay = minDelay; }
+
+        public double getBudgetPercent() { return budgetPercent; }
+
+        public void setBudgetPercent(double budgetPercent) { this.budgetPercent = budgetPercent; }
+
+        public int getMinBudget() { return minBudget; }
+
+        public void setMinBudget(int minBudget) { this.minBudget = minBudget; }
+
+        public Duration getResponseTimeout() { return responseTimeout; }
+
+        public void setResponseTimeout(Duration responseTimeout) { this.responseTimeout = responseTimeout; }
+
+        @Override
+        public String toString() {
+            return "Config{percentile=" + percentile + ", minDelay=" + minDelay + ", budgetPercent=" + budgetPercent
+                + ", minBudget=" + minBudget + ", responseTimeout=" + responseTimeout + "}";
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.gateway.service.filter;
 
+import com.gateway.service.cache.VerifiedTokenCache;
+import com.gateway.service.cache.VerifiedTokenCache.VerifiedToken;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,6 +27,7 @@ import reactor.core.publisher.Mono;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -34,12 +39,39 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    /**
+     * Exchange attribute holding the caller's roles as a {@link RoleBitmask} value.
+     */
+    public static final String USER_ROLE_MASK_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".userRoleMask";
+
+    /**
+     * Exchange attribute holding the nanoseconds spent validating the token, read by {@link LatencyMetricsFilter}.
+     */
+    public static final String VALIDATION_NANOS_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".validationNanos";
+
     @Value("${authorization.jwt.secret}")
     private String jwtSecret;
 
     @Value("${authorization.routes.public-paths:/api/v1/authentication/**,/actuator/**,/v3/api-docs/**,/swagger-ui/**}")
     private List<String> publicPaths;
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private JwtParser jwtParser;
+
+    private PublicPathMatcher publicPathMatcher;
+
+    public JwtAuthenticationFilter(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    @PostConstruct
+    void init() {
+        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser().verifyWith(key).build();
+        this.publicPathMatcher = PublicPathMatcher.compile(publicPaths);
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
@@ -68,6 +100,14 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         String token = authHeader.substring(7);
         log.debug("Extracted token: {}", token.substring(0, Math.min(10, token.length())) + "...");
 
+        long validationStart = System.nanoTime();
+        String digest = VerifiedTokenCache.digest(token);
+        VerifiedToken cached = verifiedTokenCache.get(digest);
+        if (cached != null) {
+            exchange.getAttributes().put(VALIDATION_NANOS_ATTRIBUTE, System.nanoTime() - validationStart);
+            return chain.filter(withUserHeaders(exchange, cached));
+        }
+
         try {
             Claims claims = validateToken(token);
 
@@ -93,16 +133,16 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
                 }
             }
 
-            ServerHttpRequest modifiedRequest = request.mutate()
-                .header("X-User-Id", userId)
-                .header("X-User-Email", userEmail)
-                .header("X-User-Roles", rolesString)
-                .build();
+            // Tokens without an expiration are never cached (expirationMillis returns 0)
+            VerifiedToken verified = new VerifiedToken(userId, userEmail, rolesString,
+                RoleBitmask.of(roles), expirationMillis(claims));
+            verifiedTokenCache.put(digest, verified);
+            exchange.getAttributes().put(VALIDATION_NANOS_ATTRIBUTE, System.nanoTime() - validationStart);
 
             log.debug("Added headers - X-User-Id: {}, X-User-Email: {}, X-User-Roles: {}",
                       userId, userEmail, rolesString);
 
-            return chain.filter(exchange.mutate().request(modifiedRequest).build());
+            return chain.filter(withUserHeaders(exchange, verified));
         } catch (ExpiredJwtException e) {
             log.error("JWT token is expired: {}", e.getMessage());
             return onError(exchange, "Expired JWT token", HttpStatus.UNAUTHORIZED);
@@ -125,26 +165,12 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
     }
 
     private boolean isPublicPath(String path) {
-        boolean isPublic = publicPaths.stream().anyMatch(pattern -> {
-            if (pattern.endsWith("/**")) {
-                String prefix = pattern.substring(0, pattern.length() - 3);
-                return path.startsWith(prefix);
-            }
-            return path.equals(pattern);
-        });
-
-        log.debug("Path {} is public: {}", path, isPublic);
-        return isPublic;
+        return publicPathMatcher.matches(path);
     }
 
     private Claims validateToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        log.debug("Validating token with secret key of length: {}", jwtSecret.length());
-
         try {
-            return Jwts.parser()
-                .verifyWith(key)
-                .build()
+            return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
         } catch (Exception e) {
@@ -168,6 +194,22 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         }
     }
 
+    private long expirationMillis(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null ? expiration.getTime() : 0L;
+    }
+
+    private ServerWebExchange withUserHeaders(ServerWebExchange exchange, VerifiedToken token) {
+        ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
+            .header("X-User-Id", token.userId())
+            .header("X-User-Email", token.email())
+            .header("X-User-Roles", token.roles())
+            .build();
+        ServerWebExchange modifiedExchange = exchange.mutate().request(modifiedRequest).build();
+        modifiedExchange.getAttributes().put(USER_ROLE_MASK_ATTRIBUTE, token.roleMask());
+        return modifiedExchange;
+    }
+
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
         log.warn("Authentication error: {} - Status: {}", message, status);
         ServerHttpResponse response = exchange.getResponse();
@@ -0,0 +1,119 @@
+package com.gateway.service.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter latency metrics for API Gateway
+ * Records per-route latency histograms tagged with status class and downstream instance:
+ * total time, time until the first byte of the upstream response arrived (see
+ * {@link UpstreamResponseTimingFilter}) and time spent validating the JWT.
+ * Percentiles are computed in process by Micrometer and exposed on the metrics actuator;
+ * nothing is logged per request.
+ */
+@Component
+public class LatencyMetricsFilter implements GlobalFilter, Ordered {
+
+    /**
+     * Runs before JwtAuthenticationFilter so total time includes authentication.
+     */
+    public static final int ORDER = -300;
+
+    private static final String METRIC_PREFIX = "gateway.route";
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99, 0.999};
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public LatencyMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+            .doFinally(signal -> record(exchange, signal, start));
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long start) {
+        long end = System.nanoTime();
+        String routeId = routeId(exchange);
+        String instance = instance(exchange);
+        String status = signal == SignalType.CANCEL ? "CANCELLED" : statusClass(exchange.getResponse().getStatusCode());
+
+        timer(new TimerKey("latency", routeId, status, instance), "Total time spent handling the request")
+            .record(end - start, TimeUnit.NANOSECONDS);
+        Long firstByteNanos = exchange.getAttribute(UpstreamResponseTimingFilter.RESPONSE_NANOS_ATTRIBUTE);
+        if (firstByteNanos != null) {
+            timer(new TimerKey("first.byte", routeId, status, instance), "Time until the upstream response arrived")
+                .record(firstByteNanos - start, TimeUnit.NANOSECONDS);
+        }
+        Long validationNanos = exchange.getAttribute(JwtAuthenticationFilter.VALIDATION_NANOS_ATTRIBUTE);
+        if (validationNanos != null) {
+            timer(new TimerKey("jwt.validation", routeId, null, null), "Time spent validating the JWT")
+                .record(validationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(TimerKey key, String description) {
+        Timer timer = timers.get(key);
+        return timer != null ? timer : timers.computeIfAbsent(key, k -> {
+            Timer.Builder builder = Timer.builder(METRIC_PREFIX + "." + k.name())
+                .tag("route", k.routeId())
+                .description(description)
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(Duration.ofMinutes(2));
+            if (k.status() != null) {
+                builder.tag("status", k.status()).tag("instance", k.instance());
+            }
+            return builder.register(meterRegistry);
+        });
+    }
+
+    private String statusClass(HttpStatusCode status) {
+        return status != null ? (status.value() / 100) + "xx" : "UNKNOWN";
+    }
+
+    /**
+     * Host and port chosen by the load balancer, or "none" when the request never left the
+     * gateway (cache hits, rejected or forwarded requests).
+     */
+    private String instance(ServerWebExchange exchange) {
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (requestUrl == null || requestUrl.getHost() == null || "lb".equals(requestUrl.getScheme())) {
+            return "none";
+        }
+        return requestUrl.getPort() > 0 ? requestUrl.getHost() + ":" + requestUrl.getPort() : requestUrl.getHost();
+    }
+
+    private String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private record TimerKey(String name, String routeId, String status, String instance) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.gateway.service.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Public Path Matcher for API Gateway
+ * Compiles the configured public path patterns once into a segment trie so that
+ * matching a request path does not allocate.
+ * Supported patterns: exact paths ({@code /api/v1/carriers/sign-up}), {@code *} as a whole
+ * segment to match any single non-empty segment, and a trailing {@code /**} that matches the
+ * prefix itself and everything below it, segment by segment.
+ */
+public final class PublicPathMatcher {
+
+    private static final String ANY_SEGMENT = "*";
+    private static final String ANY_DESCENDANT = "/**";
+
+    private final Node root;
+
+    private PublicPathMatcher(Node root) {
+        this.root = root;
+    }
+
+    public static PublicPathMatcher compile(List<String> patterns) {
+        Node root = new Node();
+        if (patterns != null) {
+            for (String pattern : patterns) {
+                if (pattern != null && !pattern.isBlank()) {
+                    add(root, pattern.trim());
+                }
+            }
+        }
+        root.freeze();
+        return new PublicPathMatcher(root);
+    }
+
+    public boolean matches(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return false;
+        }
+        return matches(root, path, 1);
+    }
+
+    private static boolean matches(Node node, String path, int start) {
+        if (node.matchesDescendants) {
+            return true;
+        }
+        if (start > path.length()) {
+            return node.terminal;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        int length = end - start;
+        String[] segments = node.segments;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.length() == length
+                && path.regionMatches(start, segment, 0, length)
+                && matches(node.children[i], path, end + 1)) {
+                return true;
+            }
+        }
+        return node.wildcard != null && length > 0 && matches(node.wildcard, path, end + 1);
+    }
+
+    private static void add(Node root, String pattern) {
+        String normalized = pattern.startsWith("/") ? pattern : "/" + pattern;
+        boolean descendants = normalized.endsWith(ANY_DESCENDANT);
+        String prefix = descendants
+            ? normalized.substring(0, normalized.length() - ANY_DESCENDANT.length())
+            : normalized;
+        prefix = prefix.isEmpty() ? prefix : prefix.substring(1);
+
+        Node node = root;
+        if (!(descendants && prefix.isEmpty())) {
+            for (String segment : prefix.split("/", -1)) {
+                node = ANY_SEGMENT.equals(segment) ? node.wildcard() : node.child(segment);
+            }
+        }
+        if (descendants) {
+            node.matchesDescendants = true;
+        } else {
+            node.terminal = true;
+        }
+    }
+
+    private static final class Node {
+        private final List<String> segmentList = new ArrayList<>();
+        private final List<Node> childList = new ArrayList<>();
+        private String[] segments = new String[0];
+        private Node[] children = new Node[0];
+        private Node wildcard;
+        private boolean terminal;
+        private boolean matchesDescendants;
+
+        private Node child(String segment) {
+            int index = segmentList.indexOf(segment);
+            if (index >= 0) {
+                return childList.get(index);
+            }
+            Node child = new Node();
+            segmentList.add(segment);
+            childList.add(child);
+            return child;
+        }
+
+        private Node wildcard() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+
+        private void freeze() {
+            segments = segmentList.toArray(new String[0]);
+            children = childList.toArray(new Node[0]);
+            Arrays.stream(children).forEach(Node::freeze);
+            if (wildcard != null) {
+                wildcard.freeze();
+            }
+        }
+    }
+}
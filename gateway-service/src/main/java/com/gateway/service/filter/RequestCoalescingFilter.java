@@ -0,0 +1,233 @@
+package com.gateway.service.filter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filter request coalescing for API Gateway
+ * Identical GET requests (same route, path, query and caller identity) that arrive while one of
+ * them is already in flight wait for that single upstream call and receive a copy of its response.
+ * Waiters give up after {@code maxWait} and bodies above {@code maxBodyBytes} are never shared;
+ * in both cases the request simply goes upstream on its own. The leader buffers at most
+ * {@code maxBodyBytes} of a body of unknown length; past that it releases the waiters and streams
+ * the rest through.
+ */
+@Component
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+
+    /**
+     * Runs inside ResponseCacheFilter so shared responses are still cached and tagged.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private static final String METRIC_PREFIX = "gateway.coalescing";
+
+    private final Map<Key, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, RouteStatistics> routeStatistics = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescingFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(METRIC_PREFIX + ".in.flight", inFlight, Map::size)
+            .description("Distinct upstream GET calls currently shared by waiting requests")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Duration maxWait = config.getMaxWait();
+        int maxBodyBytes = config.getMaxBodyBytes();
+
+        GatewayFilter filter = (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (!HttpMethod.GET.equals(request.getMethod())) {
+                return chain.filter(exchange);
+            }
+            String routeId = routeId(exchange);
+            RouteStatistics statistics = routeStatistics.computeIfAbsent(routeId,
+                id -> new RouteStatistics(id, meterRegistry));
+            HttpHeaders headers = request.getHeaders();
+            Key key = new Key(routeId, request.getURI().getRawPath(), request.getURI().getRawQuery(),
+                headers.getFirst("X-User-Id"), headers.getFirst("X-User-Roles"));
+
+            Sinks.One<SharedResponse> sink = Sinks.one();
+            Sinks.One<SharedResponse> leader = inFlight.putIfAbsent(key, sink);
+            if (leader != null) {
+                statistics.followers.increment();
+                return leader.asMono()
+                    .timeout(maxWait)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .onErrorResume(TimeoutException.class, e -> {
+                        statistics.timeouts.increment();
+                        return Mono.just(Optional.<SharedResponse>empty());
+                    })
+                    .flatMap(shared -> shared.isPresent()
+                        ? writeShared(exchange, shared.get())
+                        : chain.filter(exchange));
+            }
+
+            statistics.leaders.increment();
+            ServerHttpResponseDecorator sharing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    HttpStatusCode status = getStatusCode();
+                    if (status == null || status.is5xxServerError()
+                        || getHeaders().getContentLength() > maxBodyBytes) {
+                        complete(key, sink, null);
+                        return super.writeWith(body);
+                    }
+                    // One list holding the whole body if it fits, otherwise the buffers read so far and then one list per buffer
+                    long[] size = {0L};
+                    Flux<List<DataBuffer>> chunks = Flux.<DataBuffer>from(body)
+                        .bufferUntil(buffer -> (size[0] += buffer.readableByteCount()) > maxBodyBytes)
+                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+                    return chunks.switchOnFirst((first, rest) -> {
+                        if (first.isOnError() || size[0] > maxBodyBytes) {
+                            if (first.hasValue()) {
+                                statistics.oversized.increment();
+                            }
+                            complete(key, sink, null);
+                            return super.writeWith(rest.concatMapIterable(buffers -> buffers));
+                        }
+                        byte[] bytes = join(first.hasValue() ? first.get() : List.of(), (int) size[0]);
+                        HttpHeaders copy = new HttpHeaders();
+                        copy.putAll(getHeaders());
+                        complete(key, sink, new SharedResponse(status, copy, bytes));
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    }).then();
+                }
+            };
+            // Errors, cancellations and bodiless responses release the waiters too
+            return chain.filter(exchange.mutate().response(sharing).build())
+                .doFinally(signal -> complete(key, sink, null));
+        };
+        return new OrderedGatewayFilter(filter, ORDER);
+    }
+
+    private void complete(Key key, Sinks.One<SharedResponse> sink, SharedResponse response) {
+        inFlight.remove(key, sink);
+        if (response != null) {
+            sink.tryEmitValue(response);
+        } else {
+            sink.tryEmitEmpty();
+        }
+    }
+
+    private static byte[] join(List<DataBuffer> buffers, int size) {
+        byte[] bytes = new byte[size];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.read(bytes, offset, length);
+            offset += length;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+
+    private Mono<Void> writeShared(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(shared.status());
+        // Keep headers this exchange already has (CORS), copy the upstream ones
+        shared.headers().forEach((name, values) -> {
+            if (!response.getHeaders().containsKey(name)) {
+                response.getHeaders().put(name, values);
+            }
+        });
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private record Key(String routeId, String path, String query, String userId, String roles) {
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    private static final class RouteStatistics {
+        private final LongAdder leaders = new LongAdder();
+        private final LongAdder followers = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder oversized = new LongAdder();
+
+        private RouteStatistics(String routeId, MeterRegistry meterRegistry) {
+            FunctionCounter.builder(METRIC_PREFIX + ".requests", leaders, LongAdder::sum)
+                .tags("route", routeId, "role", "leader")
+                .description("GET requests that went upstream themselves")
+                .register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + ".requests", followers, LongAdder::sum)
+                .tags("route", routeId, "role", "follower")
+                .description("GET requests that joined an identical request already in flight")
+                .register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + ".timeouts", timeouts, LongAdder::sum)
+                .tags("route", routeId)
+                .register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + ".oversized", oversized, LongAdder::sum)
+                .tags("route", routeId)
+                .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".ratio", this, RouteStatistics::ratio)
+                .tags("route", routeId)
+                .description("Share of GET requests served by another request's upstream call")
+                .register(meterRegistry);
+        }
+
+        private double ratio() {
+            long followerCount = followers.sum();
+            long total = followerCount + leaders.sum();
+            return total == 0 ? 0.0 : (double) followerCount / total;
+        }
+    }
+
+    public static class Config {
+        private Duration maxWait = Duration.ofSeconds(2);
+        private int maxBodyBytes = 1024 * 1024;
+
+        public Duration getMaxWait() { return maxWait; }
+
+        public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+
+        public int getMaxBodyBytes() { return maxBodyBytes; }
+
+        public void setMaxBodyBytes(int maxBodyBytes) { this.maxBodyBytes = maxBodyBytes; }
+
+        @Override
+        public String toString() {
+            return "Config{maxWait=" + maxWait + ", maxBodyBytes=" + maxBodyBytes + "}";
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.gateway.service.filter;
+
+import com.gateway.service.cache.ResponseCache;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Filter response caching for API Gateway
+ * Serves repeated GET requests of the configured paths from {@link ResponseCache}, tags every
+ * cached response with a strong ETag and answers matching If-None-Match requests with 304.
+ * Entries are dropped when the route's region is invalidated by a domain event or by a write
+ * going through the same route. Bodies are buffered only up to the cache's max-entry-bytes; a
+ * longer one, including one of unknown length, is passed through as it arrives and not cached.
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    /**
+     * Wraps the response before RequestCoalescingFilter and NettyWriteResponseFilter write the upstream body.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+
+    private static final Set<HttpMethod> WRITE_METHODS =
+        Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheFilter(ResponseCache responseCache) {
+        super(Config.class);
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        PublicPathMatcher cachedPaths = PublicPathMatcher.compile(config.getPaths());
+        String region = Objects.requireNonNull(config.getRegion(), "ResponseCacheFilter requires a region");
+        long ttlMillis = config.getTtl().toMillis();
+
+        GatewayFilter filter = (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (WRITE_METHODS.contains(request.getMethod())) {
+                return chain.filter(exchange).then(Mono.fromRunnable(() -> responseCache.invalidate(region)));
+            }
+            if (!HttpMethod.GET.equals(request.getMethod())) {
+                return chain.filter(exchange);
+            }
+            String path = request.getURI().getPath();
+            if (!cachedPaths.matches(path)) {
+                return chain.filter(exchange);
+            }
+
+            String routeId = routeId(exchange);
+            ResponseCache.RouteStatistics statistics = responseCache.statistics(routeId);
+            ResponseCache.Key key = new ResponseCache.Key(routeId, path, request.getURI().getRawQuery(),
+                request.getHeaders().getFirst("X-User-Id"));
+
+            ResponseCache.Entry cached = responseCache.get(key);
+            if (cached != null) {
+                statistics.hit();
+                return writeCached(exchange, cached, statistics);
+            }
+            statistics.miss();
+
+            long generation = responseCache.generation(region);
+            ServerHttpResponseDecorator caching = new ServerHttpResponseDecorator(exchange.getResponse()) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    if (!isCacheable(this)) {
+                        return super.writeWith(body);
+                    }
+                    // One list holding the whole body if it fits, otherwise the buffers read so far and then one list per buffer
+                    int maxBytes = responseCache.getMaxEntryBytes();
+                    long[] size = {0L};
+                    Flux<List<DataBuffer>> chunks = Flux.<DataBuffer>from(body)
+                        .bufferUntil(buffer -> (size[0] += buffer.readableByteCount()) > maxBytes)
+                        .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+                    return chunks.switchOnFirst((first, rest) -> {
+                        if (first.isOnError() || size[0] > maxBytes) {
+                            return super.writeWith(rest.concatMapIterable(buffers -> buffers));
+                        }
+                        byte[] bytes = join(first.hasValue() ? first.get() : List.of(), (int) size[0]);
+
+                        String etag = ResponseCache.etag(bytes);
+                        getHeaders().setETag(etag);
+                        responseCache.put(key, new ResponseCache.Entry(region, bytes, getHeaders().getContentType(),
+                            etag, System.currentTimeMillis() + ttlMillis), generation);
+
+                        if (isNotModified(request, etag)) {
+                            statistics.notModified();
+                            setStatusCode(HttpStatus.NOT_MODIFIED);
+                            getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                            return getDelegate().setComplete();
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    }).then();
+                }
+            };
+            return chain.filter(exchange.mutate().response(caching).build());
+        };
+        return new OrderedGatewayFilter(filter, ORDER);
+    }
+
+    private boolean isCacheable(ServerHttpResponse response) {
+        HttpStatusCode status = response.getStatusCode();
+        if (status == null || status.value() != HttpStatus.OK.value()) {
+            return false;
+        }
+        // An unknown length (-1) is checked while the body is read
+        long contentLength = response.getHeaders().getContentLength();
+        return contentLength <= responseCache.getMaxEntryBytes();
+    }
+
+    private static byte[] join(List<DataBuffer> buffers, int size) {
+        byte[] bytes = new byte[size];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.read(bytes, offset, length);
+            offset += length;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, ResponseCache.Entry cached,
+                                   ResponseCache.RouteStatistics statistics) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setETag(cached.getEtag());
+        if (isNotModified(exchange.getRequest(), cached.getEtag())) {
+            statistics.notModified();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.getContentType() != null) {
+            response.getHeaders().setContentType(cached.getContentType());
+        }
+        response.getHeaders().setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private boolean isNotModified(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return ifNoneMatch.contains(etag) || ifNoneMatch.contains("*");
+    }
+
+    private String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    public static class Config {
+        private String region;
+        private List<String> paths;
+        private Duration ttl = Duration.ofSeconds(60);
+
+        public String getRegion() { return region; }
+
+        public void setRegion(String region) { this.region = region; }
+
+        public List<String> getPaths() { return paths; }
+
+        public void setPaths(List<String> paths) { this.paths = paths; }
+
+        public Duration getTtl() { return ttl; }
+
+        public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+        @Override
+        public String toString() {
+            return "Config{region=" + region + ", paths=" + paths + ", ttl=" + ttl + "}";
+        }
+    }
+}
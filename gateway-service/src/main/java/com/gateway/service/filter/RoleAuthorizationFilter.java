@@ -1,6 +1,7 @@
 package com.gateway.service.filter;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -9,7 +10,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -18,32 +18,34 @@ import java.util.List;
  */
 @Component
 public class RoleAuthorizationFilter extends AbstractGatewayFilterFactory<RoleAuthorizationFilter.Config> {
+
+    /**
+     * Runs right after JwtAuthenticationFilter so no other route filter (e.g. ResponseCacheFilter)
+     * can answer a request before the caller's roles are checked.
+     */
+    public static final int ORDER = -150;
+
     public RoleAuthorizationFilter() {
         super(Config.class);
     }
 
     @Override
     public GatewayFilter apply(Config config) {
-        return (exchange, chain) -> {
-            ServerHttpRequest request = exchange.getRequest();
-            String rolesHeader = request.getHeaders().getFirst("X-User-Roles");
-            if (rolesHeader == null) { return unauthorizedResponse(exchange); }
-            List<String> userRoles = Arrays.asList(rolesHeader.split(","));
-            boolean hasRequiredRole = false;
-            for (String requiredRole : config.getRoles()) {
-                for (String userRole : userRoles) {
-                    String normalizedRequiredRole = requiredRole.trim().replace("ROLE_", "");
-                    String normalizedUserRole = userRole.trim().replace("ROLE_", "");
-                    if (normalizedRequiredRole.equalsIgnoreCase(normalizedUserRole)) {
-                        hasRequiredRole = true;
-                        break;
-                    }
-                }
-                if (hasRequiredRole) { break; }
-            }
-            if (!hasRequiredRole) { return unauthorizedResponse(exchange); }
+        // Normalized once per route; each request is then a single AND against the caller's mask
+        long requiredRoles = RoleBitmask.of(config.getRoles());
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            long userRoles = userRoleMask(exchange);
+            if ((userRoles & requiredRoles) == 0L) { return unauthorizedResponse(exchange); }
             return chain.filter(exchange);
-        };
+        }, ORDER);
+    }
+
+    private long userRoleMask(ServerWebExchange exchange) {
+        Long mask = exchange.getAttribute(JwtAuthenticationFilter.USER_ROLE_MASK_ATTRIBUTE);
+        if (mask != null) { return mask; }
+        // Requests that did not go through JwtAuthenticationFilter fall back to the header
+        ServerHttpRequest request = exchange.getRequest();
+        return RoleBitmask.of(request.getHeaders().getFirst("X-User-Roles"));
     }
 
     private Mono<Void> unauthorizedResponse(ServerWebExchange exchange) {
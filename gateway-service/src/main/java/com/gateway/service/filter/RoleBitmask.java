@@ -0,0 +1,65 @@
+package com.gateway.service.filter;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Role Bitmask for API Gateway
+ * Maps role names to bits so that authorization checks become a single AND.
+ * Names are normalized the same way RoleAuthorizationFilter always compared them:
+ * trimmed, without the {@code ROLE_} prefix and case-insensitive.
+ */
+public final class RoleBitmask {
+
+    private static final int MAX_ROLES = Long.SIZE;
+
+    private static final Map<String, Long> BITS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_BIT = new AtomicInteger();
+
+    static {
+        // Roles known to IAM get stable bits; any other name is assigned one on first sight
+        bit("ADMIN");
+        bit("CARRIER");
+        bit("MANAGER");
+    }
+
+    private RoleBitmask() {
+    }
+
+    public static long of(Collection<String> roles) {
+        long mask = 0L;
+        if (roles != null) {
+            for (String role : roles) {
+                mask |= bit(role);
+            }
+        }
+        return mask;
+    }
+
+    public static long of(String commaSeparatedRoles) {
+        long mask = 0L;
+        if (commaSeparatedRoles != null) {
+            for (String role : commaSeparatedRoles.split(",")) {
+                mask |= bit(role);
+            }
+        }
+        return mask;
+    }
+
+    private static long bit(String role) {
+        if (role == null) {
+            return 0L;
+        }
+        String normalized = role.trim().replace("ROLE_", "").toUpperCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return 0L;
+        }
+        return BITS.computeIfAbsent(normalized, name -> {
+            int index = NEXT_BIT.getAndIncrement();
+            return index < MAX_ROLES ? 1L << index : 0L;
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.gateway.service.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Filter upstream response timing for API Gateway
+ * Notes when the routed service's response arrived. The routing filters complete once the
+ * response headers are in and leave the body to NettyWriteResponseFilter, so the moment this
+ * filter's chain completes is when the first upstream byte arrived, before anything is written
+ * to the client. Requests answered by the gateway itself (cache hits, rejections) are not stamped.
+ */
+@Component
+public class UpstreamResponseTimingFilter implements GlobalFilter, Ordered {
+
+    /**
+     * Runs after NettyWriteResponseFilter and before the routing filters.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER + 1;
+
+    /**
+     * Exchange attribute holding the {@link System#nanoTime()} at which the upstream response
+     * arrived, read by {@link LatencyMetricsFilter}. Filters that route on their own set it themselves.
+     */
+    public static final String RESPONSE_NANOS_ATTRIBUTE = UpstreamResponseTimingFilter.class.getName() + ".responseNanos";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+            if (exchange.getAttribute(ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR) != null) {
+                exchange.getAttributes().putIfAbsent(RESPONSE_NANOS_ATTRIBUTE, System.nanoTime());
+            }
+        }));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,168 @@
+package com.gateway.service.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Filter per-user rate limiting for API Gateway
+ * Keeps one token bucket per route and X-User-Id in memory. Each bucket is a single
+ * theoretical-arrival-time value updated with compare-and-set (the GCRA form of a token
+ * bucket), so refill is computed lazily and no lock is taken on the request path.
+ * Rejected requests get 429 with a Retry-After header.
+ */
+@Component
+public class UserRateLimiterFilter extends AbstractGatewayFilterFactory<UserRateLimiterFilter.Config> {
+
+    /**
+     * Runs right after RoleAuthorizationFilter and before any cached or coalesced response.
+     */
+    public static final int ORDER = RoleAuthorizationFilter.ORDER + 10;
+
+    private static final String METRIC_PREFIX = "gateway.rate.limiter";
+
+    private final Map<BucketKey, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long idleTimeoutNanos;
+    private final LongSupplier clock;
+
+    @Autowired
+    public UserRateLimiterFilter(@Value("${gateway.rate-limiter.idle-timeout:10m}") Duration idleTimeout,
+                                 MeterRegistry meterRegistry) {
+        this(idleTimeout, System::nanoTime, meterRegistry);
+    }
+
+    UserRateLimiterFilter(Duration idleTimeout, LongSupplier clock, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.clock = clock;
+        Gauge.builder(METRIC_PREFIX + ".buckets", buckets, Map::size)
+            .description("Token buckets currently held in memory")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (config.getReplenishRate() <= 0 || config.getBurstCapacity() <= 0) {
+            throw new IllegalArgumentException("UserRateLimiterFilter requires a positive replenish-rate and burst-capacity");
+        }
+        long emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getReplenishRate();
+        long burstToleranceNanos = emissionIntervalNanos * config.getBurstCapacity();
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            String routeId = routeId(exchange);
+            AtomicLong bucket = bucket(new BucketKey(routeId, clientKey(exchange.getRequest())));
+            long retryAfterNanos = tryAcquire(bucket, emissionIntervalNanos, burstToleranceNanos);
+            if (retryAfterNanos > 0) {
+                rejections.computeIfAbsent(routeId, id -> Counter.builder(METRIC_PREFIX + ".rejected")
+                    .tag("route", id)
+                    .register(meterRegistry)).increment();
+                return tooManyRequests(exchange, retryAfterNanos);
+            }
+            return chain.filter(exchange);
+        }, ORDER);
+    }
+
+    /**
+     * Drops buckets that have been full for longer than the idle timeout; recreating them
+     * later yields exactly the same state.
+     */
+    @Scheduled(fixedDelayString = "${gateway.rate-limiter.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long idleBefore = clock.getAsLong() - idleTimeoutNanos;
+        buckets.entrySet().removeIf(bucket -> bucket.getValue().get() - idleBefore < 0);
+    }
+
+    private AtomicLong bucket(BucketKey key) {
+        AtomicLong bucket = buckets.get(key);
+        return bucket != null ? bucket : buckets.computeIfAbsent(key, k -> new AtomicLong(clock.getAsLong()));
+    }
+
+    /**
+     * Takes one token from the bucket.
+     *
+     * @return 0 when the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    private long tryAcquire(AtomicLong bucket, long emissionIntervalNanos, long burstToleranceNanos) {
+        while (true) {
+            long now = clock.getAsLong();
+            long theoreticalArrival = bucket.get();
+            long next = Math.max(theoreticalArrival - now, 0L) + now + emissionIntervalNanos;
+            long excess = next - now - burstToleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(theoreticalArrival, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    private String clientKey(ServerHttpRequest request) {
+        String userId = request.getHeaders().getFirst("X-User-Id");
+        if (userId != null) {
+            return userId;
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress != null ? remoteAddress.getAddress().getHostAddress() : "anonymous";
+    }
+
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange, long retryAfterNanos) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return response.setComplete();
+    }
+
+    private String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private record BucketKey(String routeId, String clientKey) {
+    }
+
+    public static class Config {
+        private long replenishRate;
+        private long burstCapacity;
+
+        public long getReplenishRate() { return replenishRate; }
+
+        public void setReplenishRate(long replenishRate) { this.replenishRate = replenishRate; }
+
+        public long getBurstCapacity() { return burstCapacity; }
+
+        public void setBurstCapacity(long burstCapacity) { this.burstCapacity = burstCapacity; }
+
+        @Override
+        public String toString() {
+            return "Config{replenishRate=" + replenishRate + ", burstCapacity=" + burstCapacity + "}";
+        }
+    }
+}
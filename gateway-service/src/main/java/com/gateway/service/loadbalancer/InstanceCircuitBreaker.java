@@ -0,0 +1,53 @@
+package com.gateway.service.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consecutive-failure circuit breaker of one instance. Failed calls and calls slower than the
+ * slow-call threshold both count; once the threshold of consecutive bad calls is reached the
+ * instance is ejected for the open duration. Afterwards it is eligible again and its next call
+ * decides: a good one closes the breaker, a bad one opens it for another period.
+ */
+final class InstanceCircuitBreaker {
+
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openUntilNanos = new AtomicLong();
+    private final LongAdder opened = new LongAdder();
+
+    InstanceCircuitBreaker(int failureThreshold, long slowCallNanos, long openNanos) {
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.openNanos = openNanos;
+    }
+
+    boolean isOpen(long nowNanos) {
+        long openUntil = openUntilNanos.get();
+        return openUntil != 0L && nowNanos - openUntil < 0;
+    }
+
+    void record(long latencyNanos, boolean failed, long nowNanos) {
+        if (!failed && latencyNanos <= slowCallNanos) {
+            consecutiveFailures.set(0);
+            openUntilNanos.set(0L);
+            return;
+        }
+        if (consecutiveFailures.incrementAndGet() < failureThreshold) {
+            return;
+        }
+        long openUntil = openUntilNanos.get();
+        if ((openUntil == 0L || nowNanos - openUntil >= 0)
+            && openUntilNanos.compareAndSet(openUntil, nowNanos + openNanos)) {
+            opened.increment();
+        }
+    }
+
+    long openedCount() {
+        return opened.sum();
+    }
+}
@@ -0,0 +1,80 @@
+package com.gateway.service.loadbalancer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Load observed on one service instance: requests in flight and a peak-sensitive exponentially
+ * weighted moving average of its latency. A sample above the average replaces it immediately,
+ * lower samples pull it down with a weight that grows with the time since the last sample, so a
+ * slow instance is avoided at once and retried gradually once it stops being observed.
+ */
+final class InstanceLoad {
+
+    /**
+     * Latency assumed for an instance with requests in flight that has not answered yet.
+     */
+    private static final double UNSEEN_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<Sample> average = new AtomicReference<>(new Sample(0.0, 0L));
+    private final double decayNanos;
+    private final InstanceCircuitBreaker circuitBreaker;
+
+    InstanceLoad(long decayNanos, InstanceCircuitBreaker circuitBreaker) {
+        this.decayNanos = decayNanos;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    InstanceCircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    void started() {
+        inFlight.incrementAndGet();
+    }
+
+    void completed(long latencyNanos, long nowNanos) {
+        inFlight.decrementAndGet();
+        average.updateAndGet(sample -> {
+            if (latencyNanos > sample.latencyNanos()) {
+                return new Sample(latencyNanos, nowNanos);
+            }
+            double weight = decayWeight(sample, nowNanos);
+            return new Sample(sample.latencyNanos() * weight + latencyNanos * (1.0 - weight), nowNanos);
+        });
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Latency average decayed towards zero for the time elapsed since the last sample.
+     */
+    double latencyNanos(long nowNanos) {
+        Sample sample = average.get();
+        return sample.latencyNanos() * decayWeight(sample, nowNanos);
+    }
+
+    double cost(LoadBalancerStrategy strategy, long nowNanos) {
+        int outstanding = inFlight.get();
+        if (strategy == LoadBalancerStrategy.LEAST_OUTSTANDING) {
+            return outstanding;
+        }
+        double latency = latencyNanos(nowNanos);
+        if (latency == 0.0) {
+            return outstanding * UNSEEN_LATENCY_NANOS;
+        }
+        return latency * (outstanding + 1);
+    }
+
+    private double decayWeight(Sample sample, long nowNanos) {
+        long elapsed = Math.max(0L, nowNanos - sample.updatedAtNanos());
+        return Math.exp(-elapsed / decayNanos);
+    }
+
+    private record Sample(double latencyNanos, long updatedAtNanos) {
+    }
+}
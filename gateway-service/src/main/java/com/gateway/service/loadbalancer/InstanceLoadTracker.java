@@ -0,0 +1,180 @@
+package com.gateway.service.loadbalancer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Instance Load Tracker for API Gateway
+ * Load balancer lifecycle hook shared by every lb:// service. Counts requests in flight, feeds
+ * response times into each instance's {@link InstanceLoad} and failures into its
+ * {@link InstanceCircuitBreaker}; {@link LatencyAwareLoadBalancer} and the hedging filter read
+ * both when choosing an instance.
+ */
+@Component
+public class InstanceLoadTracker implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final String METRIC_PREFIX = "gateway.loadbalancer";
+
+    /**
+     * Latency recorded for failed calls and 5xx responses, so quick failures do not attract traffic.
+     */
+    private static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, InstanceLoad> loads = new ConcurrentHashMap<>();
+    private final long decayNanos;
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final LongSupplier clock;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public InstanceLoadTracker(@Value("${gateway.load-balancer.decay-time:10s}") Duration decayTime,
+                               @Value("${gateway.load-balancer.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${gateway.load-balancer.circuit-breaker.slow-call-threshold:2s}") Duration slowCallThreshold,
+                               @Value("${gateway.load-balancer.circuit-breaker.open-duration:30s}") Duration openDuration,
+                               MeterRegistry meterRegistry) {
+        this(decayTime, failureThreshold, slowCallThreshold, openDuration, System::nanoTime, meterRegistry);
+    }
+
+    InstanceLoadTracker(Duration decayTime, int failureThreshold, Duration slowCallThreshold, Duration openDuration,
+                        LongSupplier clock, MeterRegistry meterRegistry) {
+        this.decayNanos = decayTime.toNanos();
+        this.failureThreshold = failureThreshold;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void started(ServiceInstance instance) {
+        load(instance).started();
+    }
+
+    /**
+     * Records the end of a call to the instance; failed calls count as slow ones.
+     */
+    public void completed(ServiceInstance instance, long latencyNanos, boolean failed) {
+        long now = now();
+        InstanceLoad load = load(instance);
+        load.completed(failed ? Math.max(latencyNanos, FAILURE_PENALTY_NANOS) : latencyNanos, now);
+        load.circuitBreaker().record(latencyNanos, failed, now);
+    }
+
+    /**
+     * Records a call abandoned before the instance answered, such as the losing copy of a hedged
+     * request. It frees the in-flight slot and counts towards the latency average, since the
+     * instance took at least that long, but says nothing about the instance's health, so the
+     * circuit breaker is left as it is.
+     */
+    public void cancelled(ServiceInstance instance, long latencyNanos) {
+        load(instance).completed(latencyNanos, now());
+    }
+
+    /**
+     * False while the instance's circuit breaker is open.
+     */
+    public boolean isAvailable(ServiceInstance instance) {
+        return !load(instance).circuitBreaker().isOpen(now());
+    }
+
+    public double cost(ServiceInstance instance, LoadBalancerStrategy strategy) {
+        return load(instance).cost(strategy, now());
+    }
+
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    InstanceLoad load(ServiceInstance instance) {
+        String key = key(instance);
+        InstanceLoad load = loads.get(key);
+        return load != null ? load : loads.computeIfAbsent(key, k -> register(instance));
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(now());
+        }
+        started(lbResponse.getServer());
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        // Discarded requests never reached an instance, so onStartRequest was not called for them
+        if (completionContext.status() == CompletionContext.Status.DISCARD
+            || completionContext.getLoadBalancerResponse() == null
+            || !completionContext.getLoadBalancerResponse().hasServer()) {
+            return;
+        }
+        long latency = 0L;
+        if (completionContext.getLoadBalancerRequest() != null
+            && completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext timed
+            && timed.getRequestStartTime() != 0L) {
+            latency = now() - timed.getRequestStartTime();
+        }
+        completed(completionContext.getLoadBalancerResponse().getServer(), latency, isFailure(completionContext));
+    }
+
+    private boolean isFailure(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        return completionContext.getClientResponse() instanceof ResponseData response
+            && response.getHttpStatus() != null
+            && response.getHttpStatus().is5xxServerError();
+    }
+
+    private InstanceLoad register(ServiceInstance instance) {
+        InstanceCircuitBreaker circuitBreaker = new InstanceCircuitBreaker(failureThreshold, slowCallNanos, openNanos);
+        InstanceLoad load = new InstanceLoad(decayNanos, circuitBreaker);
+        String service = instance.getServiceId();
+        String address = instance.getHost() + ":" + instance.getPort();
+        Gauge.builder(METRIC_PREFIX + ".in.flight", load, InstanceLoad::inFlight)
+            .tags("service", service, "instance", address)
+            .description("Requests currently in flight to the instance")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".latency.ewma", load, l -> l.latencyNanos(now()) / 1_000_000.0)
+            .tags("service", service, "instance", address)
+            .baseUnit("milliseconds")
+            .description("Decayed peak-sensitive latency average of the instance")
+            .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".circuit.open", circuitBreaker, breaker -> breaker.isOpen(now()) ? 1 : 0)
+            .tags("service", service, "instance", address)
+            .description("1 while the instance is ejected by its circuit breaker")
+            .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".circuit.opened", circuitBreaker, InstanceCircuitBreaker::openedCount)
+            .tags("service", service, "instance", address)
+            .register(meterRegistry);
+        return load;
+    }
+
+    private String key(ServiceInstance instance) {
+        return instance.getServiceId() + "/" + instance.getHost() + ":" + instance.getPort();
+    }
+}
@@ -0,0 +1,68 @@
+package com.gateway.service.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load balancer that picks between two random instances the one with the lower load cost
+ * ("power of two choices"), using in-flight counts or peak EWMA latency kept by
+ * {@link InstanceLoadTracker}. Sampling two instances instead of scanning all of them keeps
+ * the choice cheap and avoids every gateway thread herding onto the same "best" instance.
+ * Instances ejected by their circuit breaker are skipped unless no other instance is left.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final LoadBalancerStrategy strategy;
+    private final InstanceLoadTracker tracker;
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                    String serviceId,
+                                    LoadBalancerStrategy strategy,
+                                    InstanceLoadTracker tracker) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.strategy = strategy;
+        this.tracker = tracker;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+            .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::chooseFrom);
+    }
+
+    Response<ServiceInstance> chooseFrom(List<ServiceInstance> registered) {
+        List<ServiceInstance> available = registered.stream().filter(tracker::isAvailable).toList();
+        List<ServiceInstance> instances = available.isEmpty() ? registered : available;
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(tracker.cost(b, strategy) < tracker.cost(a, strategy) ? b : a);
+    }
+}
@@ -0,0 +1,37 @@
+package com.gateway.service.loadbalancer;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+/**
+ * Per-service load balancer configuration, instantiated by Spring Cloud LoadBalancer in each
+ * service's child context. Deliberately not a @Configuration class so component scanning does not
+ * register it in the main context.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(Environment environment,
+                                                                                   LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                                   InstanceLoadTracker tracker) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        LoadBalancerStrategy strategy = Binder.get(environment)
+            .bind("gateway.load-balancer.services", Bindable.mapOf(String.class, LoadBalancerStrategy.class))
+            .orElse(Map.of())
+            .getOrDefault(serviceId, LoadBalancerStrategy.ROUND_ROBIN);
+        var supplier = loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+        if (strategy == LoadBalancerStrategy.ROUND_ROBIN) {
+            return new RoundRobinLoadBalancer(supplier, serviceId);
+        }
+        return new LatencyAwareLoadBalancer(supplier, serviceId, strategy, tracker);
+    }
+}
@@ -0,0 +1,14 @@
+package com.gateway.service.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Load Balancer Configuration for API Gateway
+ * Applies {@link LatencyAwareLoadBalancerConfiguration} to every lb:// service; services not listed
+ * under {@code gateway.load-balancer.services} keep round-robin.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -0,0 +1,24 @@
+package com.gateway.service.loadbalancer;
+
+/**
+ * Instance selection strategies that can be chosen per service under
+ * {@code gateway.load-balancer.services.<service-id>}.
+ */
+public enum LoadBalancerStrategy {
+
+    /**
+     * Spring Cloud LoadBalancer's default rotation over the registered instances.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Prefers the instance with the fewest requests in flight.
+     */
+    LEAST_OUTSTANDING,
+
+    /**
+     * Prefers the instance with the lowest peak-sensitive latency average weighted by its
+     * requests in flight.
+     */
+    PEAK_EWMA
+}
@@ -0,0 +1,85 @@
+package com.gateway.service.filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link PublicPathMatcher} with the stream based matching the gateway used before.
+ * It is not part of the test suite; run it through {@link #main(String[])} after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicPathMatcherBenchmark {
+
+    @Param({"10", "50", "100", "500"})
+    private int patternCount;
+
+    private List<String> patterns;
+    private PublicPathMatcher matcher;
+    private String[] paths;
+
+    @Setup
+    public void setUp() {
+        patterns = new ArrayList<>();
+        patterns.add("/api/v1/authentication/**");
+        patterns.add("/api/v1/carriers/sign-up");
+        patterns.add("/actuator/**");
+        for (int i = patterns.size(); i < patternCount; i++) {
+            patterns.add(i % 2 == 0 ? "/api/v1/public-" + i + "/**" : "/api/v1/docs-" + i + "/index");
+        }
+        matcher = PublicPathMatcher.compile(patterns);
+        paths = new String[] {
+            "/api/v1/authentication/sign-in",
+            "/api/v1/carriers/sign-up",
+            "/api/v1/vehicles/manager/vehicles",
+            "/api/v1/shipments/manager/shipments",
+            "/api/v1/issues/manager/42"
+        };
+    }
+
+    @Benchmark
+    public void trie(Blackhole blackhole) {
+        for (String path : paths) {
+            blackhole.consume(matcher.matches(path));
+        }
+    }
+
+    @Benchmark
+    public void stream(Blackhole blackhole) {
+        for (String path : paths) {
+            blackhole.consume(streamMatches(path));
+        }
+    }
+
+    private boolean streamMatches(String path) {
+        return patterns.stream().anyMatch(pattern -> {
+            if (pattern.endsWith("/**")) {
+                String prefix = pattern.substring(0, pattern.length() - 3);
+                return path.startsWith(prefix);
+            }
+            return path.equals(pattern);
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(new String[] {PublicPathMatcherBenchmark.class.getSimpleName()});
+    }
+}
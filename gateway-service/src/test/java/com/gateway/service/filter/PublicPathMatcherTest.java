@@ -0,0 +1,72 @@
+package com.gateway.service.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the pattern forms {@link PublicPathMatcher} supports: exact paths, {@code *} segments and
+ * a trailing {@code /**}.
+ */
+class PublicPathMatcherTest {
+
+    private final PublicPathMatcher matcher = PublicPathMatcher.compile(List.of(
+        "/api/v1/authentication/**",
+        "/api/v1/carriers/sign-up",
+        "/api/v1/shipments/*/tracking",
+        "actuator/health"));
+
+    @Test
+    void exactPathMatchesOnlyItself() {
+        assertTrue(matcher.matches("/api/v1/carriers/sign-up"));
+        assertFalse(matcher.matches("/api/v1/carriers"));
+        assertFalse(matcher.matches("/api/v1/carriers/sign-up/bulk"));
+        assertFalse(matcher.matches("/api/v1/carriers/sign-upx"));
+        assertFalse(matcher.matches("/API/v1/carriers/sign-up"));
+    }
+
+    @Test
+    void descendantWildcardMatchesPrefixAndBelow() {
+        assertTrue(matcher.matches("/api/v1/authentication"));
+        assertTrue(matcher.matches("/api/v1/authentication/sign-in"));
+        assertTrue(matcher.matches("/api/v1/authentication/refresh/rotate"));
+        assertFalse(matcher.matches("/api/v1/authenticationx"));
+        assertFalse(matcher.matches("/api/v1"));
+    }
+
+    @Test
+    void segmentWildcardMatchesOneNonEmptySegment() {
+        assertTrue(matcher.matches("/api/v1/shipments/42/tracking"));
+        assertFalse(matcher.matches("/api/v1/shipments//tracking"));
+        assertFalse(matcher.matches("/api/v1/shipments/42/7/tracking"));
+        assertFalse(matcher.matches("/api/v1/shipments/42"));
+    }
+
+    @Test
+    void exactSegmentFallsBackToWildcard() {
+        PublicPathMatcher overlapping = PublicPathMatcher.compile(List.of("/a/b/c", "/a/*/d"));
+        assertTrue(overlapping.matches("/a/b/c"));
+        assertTrue(overlapping.matches("/a/b/d"));
+        assertTrue(overlapping.matches("/a/x/d"));
+        assertFalse(overlapping.matches("/a/x/c"));
+    }
+
+    @Test
+    void patternsAndPathsAreNormalized() {
+        assertTrue(matcher.matches("/actuator/health"));
+        assertFalse(matcher.matches("actuator/health"));
+        assertFalse(matcher.matches(""));
+        assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    void rootDescendantWildcardMatchesEverything() {
+        PublicPathMatcher everything = PublicPathMatcher.compile(List.of("/**"));
+        assertTrue(everything.matches("/"));
+        assertTrue(everything.matches("/api/v1/vehicles/3"));
+        assertFalse(PublicPathMatcher.compile(null).matches("/"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.gateway.service.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sends a leader and a follower for the same GET through the filter while the leader's upstream
+ * body arrives chunked, without a Content-Length, one buffer at a time.
+ */
+class RequestCoalescingFilterTest {
+
+    private static final int MAX_BODY_BYTES = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatewayFilter filter = coalescing(meterRegistry);
+    private final Sinks.Many<DataBuffer> upstream = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicInteger followerUpstreamCalls = new AtomicInteger();
+
+    @Test
+    void chunkedBodyThatFitsIsShared() {
+        MockServerWebExchange leader = startLeader();
+        MockServerWebExchange follower = startFollower();
+        emit("12345");
+        upstream.tryEmitComplete();
+
+        assertEquals("12345", leader.getResponse().getBodyAsString().block());
+        assertEquals("12345", follower.getResponse().getBodyAsString().block());
+        assertEquals(0, followerUpstreamCalls.get());
+    }
+
+    @Test
+    void chunkedBodyLargerThanMaxIsStreamedAndReleasesWaiters() {
+        MockServerWebExchange leader = startLeader();
+        startFollower();
+        emit("12345");
+        assertEquals(0, followerUpstreamCalls.get());
+
+        // Past max-body-bytes the follower is sent upstream before the leader's body has ended
+        emit("67890");
+        assertEquals(1, followerUpstreamCalls.get());
+        assertEquals(0.0, meterRegistry.get("gateway.coalescing.in.flight").gauge().value());
+
+        emit("abc");
+        upstream.tryEmitComplete();
+        assertEquals("1234567890abc", leader.getResponse().getBodyAsString().block());
+        assertEquals(1.0, meterRegistry.get("gateway.coalescing.oversized").functionCounter().count());
+    }
+
+    private GatewayFilter coalescing(SimpleMeterRegistry registry) {
+        RequestCoalescingFilter.Config config = new RequestCoalescingFilter.Config();
+        config.setMaxWait(Duration.ofSeconds(10));
+        config.setMaxBodyBytes(MAX_BODY_BYTES);
+        return new RequestCoalescingFilter(registry).apply(config);
+    }
+
+    private MockServerWebExchange startLeader() {
+        MockServerWebExchange exchange = exchange();
+        filter.filter(exchange, routed -> {
+            routed.getResponse().setStatusCode(HttpStatus.OK);
+            return routed.getResponse().writeWith(upstream.asFlux());
+        }).subscribe();
+        return exchange;
+    }
+
+    private MockServerWebExchange startFollower() {
+        MockServerWebExchange exchange = exchange();
+        filter.filter(exchange, routed -> {
+            followerUpstreamCalls.incrementAndGet();
+            return Mono.empty();
+        }).subscribe();
+        return exchange;
+    }
+
+    private void emit(String chunk) {
+        upstream.tryEmitNext(DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/vehicles").header("X-User-Id", "7"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.gateway.service.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Checks that role names map to the bits RoleAuthorizationFilter compares with a single AND.
+ */
+class RoleBitmaskTest {
+
+    @Test
+    void knownRolesHaveStableBits() {
+        assertEquals(1L, RoleBitmask.of("ADMIN"));
+        assertEquals(2L, RoleBitmask.of("CARRIER"));
+        assertEquals(4L, RoleBitmask.of("MANAGER"));
+    }
+
+    @Test
+    void namesAreNormalized() {
+        long manager = RoleBitmask.of("MANAGER");
+        assertEquals(manager, RoleBitmask.of("ROLE_MANAGER"));
+        assertEquals(manager, RoleBitmask.of(" ROLE_manager "));
+        assertEquals(manager, RoleBitmask.of("Manager"));
+        // Only the upper-case prefix is stripped, as RoleAuthorizationFilter always did
+        assertNotEquals(manager, RoleBitmask.of("role_manager"));
+    }
+
+    @Test
+    void headerAndClaimFormsAgree() {
+        assertEquals(RoleBitmask.of(List.of("ROLE_ADMIN", "ROLE_CARRIER")), RoleBitmask.of("ROLE_ADMIN,ROLE_CARRIER"));
+        assertEquals(RoleBitmask.of("ADMIN") | RoleBitmask.of("CARRIER"), RoleBitmask.of("ADMIN, CARRIER"));
+    }
+
+    @Test
+    void missingRolesAreEmpty() {
+        assertEquals(0L, RoleBitmask.of((String) null));
+        assertEquals(0L, RoleBitmask.of((List<String>) null));
+        assertEquals(0L, RoleBitmask.of(""));
+        assertEquals(0L, RoleBitmask.of(" , ROLE_"));
+        assertEquals(0L, RoleBitmask.of(Arrays.asList("", null)));
+    }
+
+    @Test
+    void unknownRoleGetsItsOwnBit() {
+        long dispatcher = RoleBitmask.of("DISPATCHER");
+        long known = RoleBitmask.of("ADMIN,CARRIER,MANAGER");
+        assertEquals(1, Long.bitCount(dispatcher));
+        assertEquals(0L, dispatcher & known);
+        assertEquals(dispatcher, RoleBitmask.of("ROLE_dispatcher"));
+        assertNotEquals(0L, RoleBitmask.of("DISPATCHER,CARRIER") & RoleBitmask.of("CARRIER"));
+        assertEquals(0L, RoleBitmask.of("CARRIER") & RoleBitmask.of("ADMIN,MANAGER"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.gateway.service.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sends requests through the limiter on a virtual clock: 10 requests per second with a burst of 5,
+ * so one token comes back every 100 ms.
+ */
+class UserRateLimiterFilterTest {
+
+    private static final long EMISSION_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final GatewayFilter filter = limiter(10, 5);
+
+    @Test
+    void burstIsAdmittedThenRejected() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(admitted("driver"), "request " + i + " of the burst was rejected");
+        }
+        MockServerWebExchange rejected = send("driver");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void oneTokenReturnsPerEmissionInterval() {
+        exhaust("driver");
+        clock.addAndGet(EMISSION_INTERVAL_NANOS - 1);
+        assertFalse(admitted("driver"));
+        clock.addAndGet(1);
+        assertTrue(admitted("driver"));
+        assertFalse(admitted("driver"));
+    }
+
+    @Test
+    void idleBucketRefillsToTheBurstOnly() {
+        exhaust("driver");
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(admitted("driver"), "request " + i + " after the pause was rejected");
+        }
+        assertFalse(admitted("driver"));
+    }
+
+    @Test
+    void usersHaveSeparateBuckets() {
+        exhaust("driver");
+        assertTrue(admitted("manager"));
+    }
+
+    private GatewayFilter limiter(long replenishRate, long burstCapacity) {
+        UserRateLimiterFilter.Config config = new UserRateLimiterFilter.Config();
+        config.setReplenishRate(replenishRate);
+        config.setBurstCapacity(burstCapacity);
+        return new UserRateLimiterFilter(Duration.ofMinutes(10), clock::get, new SimpleMeterRegistry()).apply(config);
+    }
+
+    private void exhaust(String userId) {
+        for (int i = 0; i < 5; i++) {
+            send(userId);
+        }
+    }
+
+    private boolean admitted(String userId) {
+        return send(userId).getResponse().getStatusCode() == null;
+    }
+
+    private MockServerWebExchange send(String userId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/shipments").header("X-User-Id", userId));
+        filter.filter(exchange, e -> Mono.empty()).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,76 @@
+package com.gateway.service.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays a steady request stream against two fast stub instances and one artificially slow one
+ * on a virtual clock, and checks how much traffic each strategy still sends to the slow instance.
+ * Round-robin would send it a third.
+ */
+class LatencyAwareLoadBalancerSimulationTest {
+
+    private static final long ARRIVAL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long FAST_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int REQUESTS = 10_000;
+
+    private final ServiceInstance fastA = instance("fast-a", 8081);
+    private final ServiceInstance fastB = instance("fast-b", 8082);
+    private final ServiceInstance slow = instance("slow", 8083);
+
+    @Test
+    void peakEwmaAvoidsSlowInstance() {
+        double slowShare = simulate(LoadBalancerStrategy.PEAK_EWMA);
+        assertTrue(slowShare < 0.02, "slow instance received " + slowShare + " of the traffic");
+    }
+
+    @Test
+    void leastOutstandingAvoidsSlowInstance() {
+        double slowShare = simulate(LoadBalancerStrategy.LEAST_OUTSTANDING);
+        assertTrue(slowShare < 0.10, "slow instance received " + slowShare + " of the traffic");
+    }
+
+    private double simulate(LoadBalancerStrategy strategy) {
+        AtomicLong clock = new AtomicLong();
+        InstanceLoadTracker tracker = new InstanceLoadTracker(Duration.ofSeconds(10), 5, Duration.ofSeconds(2),
+            Duration.ofSeconds(30), clock::get, new SimpleMeterRegistry());
+        LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(null, "shipments-service", strategy, tracker);
+        List<ServiceInstance> instances = List.of(fastA, fastB, slow);
+
+        PriorityQueue<Completion> completions = new PriorityQueue<>((a, b) -> Long.compare(a.atNanos(), b.atNanos()));
+        Map<ServiceInstance, Integer> chosen = new HashMap<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            long now = clock.addAndGet(ARRIVAL_INTERVAL_NANOS);
+            while (!completions.isEmpty() && completions.peek().atNanos() <= now) {
+                Completion completion = completions.poll();
+                tracker.load(completion.instance()).completed(completion.latencyNanos(), completion.atNanos());
+            }
+            ServiceInstance instance = loadBalancer.chooseFrom(instances).getServer();
+            chosen.merge(instance, 1, Integer::sum);
+            tracker.load(instance).started();
+            long latency = instance == slow ? SLOW_LATENCY_NANOS : FAST_LATENCY_NANOS;
+            completions.add(new Completion(instance, now + latency, latency));
+        }
+        return chosen.getOrDefault(slow, 0) / (double) REQUESTS;
+    }
+
+    private static ServiceInstance instance(String id, int port) {
+        return new DefaultServiceInstance(id, "shipments-service", "localhost", port, false);
+    }
+
+    private record Completion(ServiceInstance instance, long atNanos, long latencyNanos) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.iam.service.application.internal.commandservices;
 
+import com.iam.service.application.internal.registries.RoleRegistry;
 import com.iam.service.domain.model.commands.SeedRolesCommand;
 import com.iam.service.domain.model.entities.Role;
 import com.iam.service.domain.model.valueobjects.Roles;
@@ -15,21 +16,28 @@ import java.util.Arrays;
 @Service
 public class RoleCommandServiceImpl implements RoleCommandService {
     private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
 
-    public RoleCommandServiceImpl(RoleRepository roleRepository) {
+    public RoleCommandServiceImpl(RoleRepository roleRepository, RoleRegistry roleRegistry) {
         this.roleRepository = roleRepository;
+        this.roleRegistry = roleRegistry;
     }
 
     /**
      * Handle seed roles command.
+     * <p>
+     *     Loads the {@link RoleRegistry}, inserts the missing roles and reloads the registry only if any were inserted.
+     * </p>
      * @param command the {@link SeedRolesCommand} command
      */
     @Override
     public void handle(SeedRolesCommand command) {
-        Arrays.stream(Roles.values()).forEach(role -> {
-            if (!roleRepository.existsByName(role)) {
-                roleRepository.save(new Role(Roles.valueOf(role.name())));
-            }
-        });
+        roleRegistry.refresh();
+        var missing = Arrays.stream(Roles.values()).filter(role -> !roleRegistry.contains(role)).toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        missing.forEach(role -> roleRepository.save(new Role(role)));
+        roleRegistry.refresh();
     }
 }
@@ -1,24 +1,41 @@
 package com.iam.service.application.internal.commandservices;
 
+import com.iam.service.application.internal.outboundservices.authorization.UserDetailsCacheService;
+import com.iam.service.application.internal.outboundservices.events.EventOutbox;
 import com.iam.service.application.internal.outboundservices.hashing.HashingService;
+import com.iam.service.application.internal.outboundservices.tokens.RefreshTokenService;
 import com.iam.service.application.internal.outboundservices.tokens.TokenService;
+import com.iam.service.application.internal.registries.RoleRegistry;
+import com.iam.service.application.internal.throttling.SignInThrottle;
 import com.iam.service.domain.model.aggregates.User;
 import com.iam.service.domain.model.commands.ChangeEmailCommand;
 import com.iam.service.domain.model.commands.ChangePasswordCommand;
+import com.iam.service.domain.model.commands.RefreshTokenCommand;
 import com.iam.service.domain.model.commands.SignInCommand;
 import com.iam.service.domain.model.commands.SignUpCommand;
 import com.iam.service.domain.model.commands.RegisterCarrierCommand;
+import com.iam.service.domain.model.commands.RegisterCarriersCommand;
+import com.iam.service.domain.model.entities.Role;
 import com.iam.service.domain.model.events.UserCreatedEvent;
+import com.iam.service.domain.model.valueobjects.CarrierRegistrationResult;
 import com.iam.service.domain.model.valueobjects.Roles;
+import com.iam.service.domain.model.valueobjects.UserSummary;
 import com.iam.service.domain.services.UserCommandService;
-import com.iam.service.infrastructure.persistence.jpa.repositories.RoleRepository;
+import com.iam.service.infrastructure.persistence.jdbc.repositories.UserBatchJdbcRepository;
 import com.iam.service.infrastructure.persistence.jpa.repositories.UserRepository;
-import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -33,57 +50,92 @@ import java.util.stream.Collectors;
 @Service
 public class UserCommandServiceImpl implements UserCommandService {
     private static final Logger log = LoggerFactory.getLogger(UserCommandServiceImpl.class);
+    private static final String USER_EVENTS_DESTINATION = "user-events";
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final UserBatchJdbcRepository userBatchJdbcRepository;
+    private final RoleRegistry roleRegistry;
     private final HashingService hashingService;
     private final TokenService tokenService;
-    private final StreamBridge streamBridge;
+    private final RefreshTokenService refreshTokenService;
+    private final EventOutbox eventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final UserDetailsCacheService userDetailsCacheService;
+    private final SignInThrottle signInThrottle;
 
     /**
      * Constructor.
      *
      * @param userRepository the {@link UserRepository} user repository.
-     * @param roleRepository the {@link RoleRepository} role repository.
+     * @param userBatchJdbcRepository the {@link UserBatchJdbcRepository} used for bulk inserts.
+     * @param roleRegistry the {@link RoleRegistry} role registry.
      * @param hashingService the {@link HashingService} hashing service.
      * @param tokenService the {@link TokenService} token service.
+     * @param refreshTokenService the {@link RefreshTokenService} refresh token service.
+     * @param eventOutbox the {@link EventOutbox} that stores the events published by the commands.
+     * @param transactionManager the transaction manager used to save a user together with its events.
+     * @param userDetailsCacheService the {@link UserDetailsCacheService} sign-in reads credentials from, evicted when they change.
+     * @param signInThrottle the {@link SignInThrottle} that delays repeated failed sign-ins.
      */
-    public UserCommandServiceImpl(UserRepository userRepository, RoleRepository roleRepository, HashingService hashingService, TokenService tokenService, StreamBridge streamBridge) {
+    public UserCommandServiceImpl(UserRepository userRepository, UserBatchJdbcRepository userBatchJdbcRepository, RoleRegistry roleRegistry, HashingService hashingService, TokenService tokenService, RefreshTokenService refreshTokenService, EventOutbox eventOutbox, PlatformTransactionManager transactionManager, UserDetailsCacheService userDetailsCacheService, SignInThrottle signInThrottle) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.userBatchJdbcRepository = userBatchJdbcRepository;
+        this.roleRegistry = roleRegistry;
         this.hashingService = hashingService;
         this.tokenService = tokenService;
-        this.streamBridge = streamBridge;
+        this.refreshTokenService = refreshTokenService;
+        this.eventOutbox = eventOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userDetailsCacheService = userDetailsCacheService;
+        this.signInThrottle = signInThrottle;
     }
 
     // inherited javadoc
     @Override
     public Optional<User> handle(SignUpCommand command) {
         if (userRepository.existsByEmail(command.username())) throw new RuntimeException("Email already exists");
-        var roles = command.roles().stream().map(role -> roleRepository.findByName(role.getName())
+        var roles = Role.validateRoleSet(command.roles()).stream().map(role -> roleRegistry.find(role.getName())
                 .orElseThrow(() -> new RuntimeException("Role name not found"))).toList();
         var user = new User(command.username(), hashingService.encode(command.password()), roles);
-        var savedUser = userRepository.save(user);
-
-        try {
-            UserCreatedEvent event = new UserCreatedEvent(savedUser.getId(), savedUser.getEmail());
-            streamBridge.send("user-events", event);
-            log.info("User created event published for userId: {}", savedUser.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish UserCreatedEvent for userId: {}", savedUser.getId(), e);
-        }
+        var savedUser = saveWithCreatedEvent(user);
+        log.info("User created event stored for userId: {}", savedUser.getId());
         return Optional.of(savedUser);
     }
 
 
     @Override
-    public Optional<ImmutablePair<User, String>> handle(SignInCommand command) {
-        var user = userRepository.findByEmail(command.username())
-                .orElseThrow(() -> new RuntimeException("Email not found"));
-        if (!hashingService.matches(command.password(), user.getPassword()))
+    public Optional<ImmutableTriple<UserSummary, String, String>> handle(SignInCommand command) {
+        signInThrottle.check(command.username(), command.clientAddress());
+        var credentialsOptional = userDetailsCacheService.findByEmail(command.username());
+        if (credentialsOptional.isEmpty()) {
+            signInThrottle.recordFailure(command.username(), command.clientAddress());
+            throw new RuntimeException("Email not found");
+        }
+        var credentials = credentialsOptional.get();
+        if (!hashingService.matches(command.password(), credentials.password())) {
+            signInThrottle.recordFailure(command.username(), command.clientAddress());
             throw new RuntimeException("Invalid password");
-        var token = tokenService.generateToken(user.getEmail());
-        return Optional.of(new ImmutablePair<>(user, token));
+        }
+        signInThrottle.recordSuccess(command.username());
+        var user = credentials.toSummary();
+        var token = tokenService.generateToken(user);
+        var refreshToken = refreshTokenService.issue(user.id());
+        return Optional.of(new ImmutableTriple<>(user, token, refreshToken));
+    }
+
+    @Override
+    public Optional<ImmutableTriple<User, String, String>> handle(RefreshTokenCommand command) {
+        var rotated = refreshTokenService.rotate(command.refreshToken());
+        if (rotated.isEmpty()) {
+            return Optional.empty();
+        }
+        var user = userRepository.findById(rotated.get().left);
+        if (user.isEmpty()) {
+            refreshTokenService.revokeAll(rotated.get().left);
+            return Optional.empty();
+        }
+        var token = tokenService.generateToken(user.get());
+        return Optional.of(new ImmutableTriple<>(user.get(), token, rotated.get().right));
     }
 
     @Override
@@ -94,6 +146,8 @@ public class UserCommandServiceImpl implements UserCommandService {
         if (!hashingService.matches(command.currentPassword(), user.getPassword())) { throw new RuntimeException("Current password is incorrect"); }
         user.setPassword(hashingService.encode(command.newPassword()));
         var savedUser = userRepository.save(user);
+        userDetailsCacheService.evict(savedUser.getEmail());
+        refreshTokenService.revokeAll(savedUser.getId());
         return Optional.of(savedUser);
     }
 
@@ -104,8 +158,11 @@ public class UserCommandServiceImpl implements UserCommandService {
         var user = userOptional.get();
         if (!hashingService.matches(command.password(), user.getPassword())) { throw new RuntimeException("Password is incorrect"); }
         if (userRepository.existsByEmail(command.newEmail())) { throw new RuntimeException("Email already exists: " + command.newEmail()); }
+        var previousEmail = user.getEmail();
         user.setEmail(command.newEmail());
         var savedUser = userRepository.save(user);
+        userDetailsCacheService.evict(previousEmail);
+        userDetailsCacheService.evict(savedUser.getEmail());
         return Optional.of(savedUser);
     }
 
@@ -120,6 +177,8 @@ public class UserCommandServiceImpl implements UserCommandService {
 
         try {
             userRepository.deleteById(userId);
+            refreshTokenService.revokeAll(userId);
+            userDetailsCacheService.evict(userOptional.get().getEmail());
             log.info("User with ID: {} deleted successfully", userId);
             return true;
         } catch (Exception e) {
@@ -136,7 +195,7 @@ public class UserCommandServiceImpl implements UserCommandService {
 
         // Obtener los roles (asegurándonos que incluya ROLE_CARRIER)
         var roles = command.roles().stream()
-                .map(role -> roleRepository.findByName(role.getName())
+                .map(role -> roleRegistry.find(role.getName())
                     .orElseThrow(() -> new RuntimeException("Role name not found")))
                 .collect(Collectors.toList());
 
@@ -145,24 +204,134 @@ public class UserCommandServiceImpl implements UserCommandService {
                 .anyMatch(role -> role.getName() == Roles.ROLE_CARRIER);
 
         if (!hasCarrierRole) {
-            roles.add(roleRepository.findByName(Roles.ROLE_CARRIER)
+            roles.add(roleRegistry.find(Roles.ROLE_CARRIER)
                     .orElseThrow(() -> new RuntimeException("Carrier role not found")));
         }
 
         // Crear el usuario carrier con referencia al manager que lo creó
         var user = new User(command.username(), hashingService.encode(command.password()), roles, command.managerId());
-        var savedUser = userRepository.save(user);
+        var savedUser = saveWithCreatedEvent(user);
+        log.info("User created event stored for carrier userId: {}, created by manager: {}",
+                savedUser.getId(), command.managerId());
 
-        // Publicar evento de usuario creado
-        try {
-            UserCreatedEvent event = new UserCreatedEvent(savedUser.getId(), savedUser.getEmail());
-            streamBridge.send("user-events", event);
-            log.info("User created event published for carrier userId: {}, created by manager: {}",
-                    savedUser.getId(), command.managerId());
-        } catch (Exception e) {
-            log.error("Failed to publish UserCreatedEvent for userId: {}", savedUser.getId(), e);
+        return Optional.of(savedUser);
+    }
+
+    /**
+     * Registers every valid carrier of the command with a fixed number of round trips.
+     * <p>
+     *     Rows are validated and their roles resolved in memory, existing emails are found with one query,
+     *     the passwords of the remaining rows are hashed in parallel on the hashing pool, and the users and
+     *     their {@link UserCreatedEvent}s are inserted with JDBC batches in one transaction.
+     * </p>
+     */
+    @Override
+    public List<CarrierRegistrationResult> handle(RegisterCarriersCommand command) {
+        var carriers = command.carriers();
+        var results = new CarrierRegistrationResult[carriers.size()];
+        var seenEmails = new HashSet<String>();
+        var accepted = new ArrayList<Integer>();
+        var acceptedRoles = new ArrayList<List<Role>>();
+
+        for (int row = 0; row < carriers.size(); row++) {
+            var carrier = carriers.get(row);
+            if (carrier.username() == null || carrier.username().isBlank()
+                    || carrier.password() == null || carrier.password().isBlank()) {
+                results[row] = CarrierRegistrationResult.failed(row, carrier.username(), "INVALID_DATA");
+                continue;
+            }
+            if (!seenEmails.add(carrier.username())) {
+                results[row] = CarrierRegistrationResult.failed(row, carrier.username(), "DUPLICATE_EMAIL");
+                continue;
+            }
+            var roles = resolveCarrierRoles(carrier);
+            if (roles.isEmpty()) {
+                results[row] = CarrierRegistrationResult.failed(row, carrier.username(), "ROLE_NOT_FOUND");
+                continue;
+            }
+            accepted.add(row);
+            acceptedRoles.add(roles.get());
         }
 
-        return Optional.of(savedUser);
+        var existingEmails = accepted.isEmpty() ? List.<String>of()
+                : userRepository.findEmailsIn(accepted.stream().map(row -> carriers.get(row).username()).toList());
+        var taken = new HashSet<>(existingEmails);
+        var newRows = new ArrayList<Integer>();
+        var newRoles = new ArrayList<List<Role>>();
+        for (int i = 0; i < accepted.size(); i++) {
+            int row = accepted.get(i);
+            if (taken.contains(carriers.get(row).username())) {
+                results[row] = CarrierRegistrationResult.failed(row, carriers.get(row).username(), "EMAIL_EXISTS");
+            } else {
+                newRows.add(row);
+                newRoles.add(acceptedRoles.get(i));
+            }
+        }
+
+        if (!newRows.isEmpty()) {
+            var passwords = hashingService.encodeAll(newRows.stream().map(row -> carriers.get(row).password()).toList());
+            var users = new ArrayList<User>(newRows.size());
+            for (int i = 0; i < newRows.size(); i++) {
+                users.add(new User(carriers.get(newRows.get(i)).username(), passwords.get(i), newRoles.get(i), command.managerId()));
+            }
+            List<Long> ids;
+            try {
+                ids = transactionTemplate.execute(status -> {
+                    var insertedIds = userBatchJdbcRepository.insertAll(users);
+                    var events = new ArrayList<UserCreatedEvent>(insertedIds.size());
+                    for (int i = 0; i < insertedIds.size(); i++) {
+                        events.add(new UserCreatedEvent(insertedIds.get(i), users.get(i).getEmail()));
+                    }
+                    eventOutbox.enqueueAll(USER_EVENTS_DESTINATION, events);
+                    return insertedIds;
+                });
+            } catch (DuplicateKeyException e) {
+                throw new RuntimeException("Email already exists");
+            }
+            for (int i = 0; i < newRows.size(); i++) {
+                int row = newRows.get(i);
+                results[row] = CarrierRegistrationResult.created(row, users.get(i).getEmail(), ids.get(i));
+            }
+            log.info("Registered {} of {} carriers for manager: {}", newRows.size(), carriers.size(), command.managerId());
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Resolves the roles of a carrier from the role registry, adding ROLE_CARRIER when missing.
+     *
+     * @return the roles, or an empty optional if one of them does not exist
+     */
+    private Optional<List<Role>> resolveCarrierRoles(RegisterCarrierCommand carrier) {
+        var roles = new ArrayList<Role>();
+        for (var role : Objects.requireNonNullElse(carrier.roles(), List.<Role>of())) {
+            var resolved = roleRegistry.find(role.getName());
+            if (resolved.isEmpty()) {
+                return Optional.empty();
+            }
+            roles.add(resolved.get());
+        }
+        if (roles.stream().noneMatch(role -> role.getName() == Roles.ROLE_CARRIER)) {
+            var carrierRole = roleRegistry.find(Roles.ROLE_CARRIER);
+            if (carrierRole.isEmpty()) {
+                return Optional.empty();
+            }
+            roles.add(carrierRole.get());
+        }
+        return Optional.of(roles);
+    }
+
+    /**
+     * Saves a new user and stores its {@link UserCreatedEvent} in the outbox, in one transaction.
+     *
+     * @param user the user to save
+     * @return the saved user
+     */
+    private User saveWithCreatedEvent(User user) {
+        return transactionTemplate.execute(status -> {
+            var savedUser = userRepository.save(user);
+            eventOutbox.enqueue(USER_EVENTS_DESTINATION, new UserCreatedEvent(savedUser.getId(), savedUser.getEmail()));
+            return savedUser;
+        });
     }
 }
@@ -0,0 +1,31 @@
+package com.iam.service.application.internal.outboundservices.authorization;
+
+import com.iam.service.domain.model.valueobjects.UserCredentials;
+
+import java.util.Optional;
+
+/**
+ * UserDetailsCacheService
+ * <p>
+ *     Interface for the cache of user details used to authenticate sign-in requests.
+ *     Sign-in reads the credentials through it instead of querying the users table, and
+ *     command handlers call it after persisting a change to a user's credentials so the
+ *     next authentication reads the new state.
+ * </p>
+ */
+public interface UserDetailsCacheService {
+    /**
+     * Find the credentials of a user, from the cache when they are there.
+     *
+     * @param email the email the user signs in with
+     * @return the credentials, or empty when no user has this email
+     */
+    Optional<UserCredentials> findByEmail(String email);
+
+    /**
+     * Evict the cached user details for an email.
+     *
+     * @param email the email whose cached details are discarded
+     */
+    void evict(String email);
+}
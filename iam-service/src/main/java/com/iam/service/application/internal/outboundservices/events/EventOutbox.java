@@ -0,0 +1,32 @@
+package com.iam.service.application.internal.outboundservices.events;
+
+import java.util.List;
+
+/**
+ * EventOutbox
+ * <p>
+ *     Interface for the outbox of integration events. Events are stored in the same transaction as the
+ *     change that produced them and published to the broker afterwards, so an event is never lost when the
+ *     broker is unavailable and never published for a change that was rolled back.
+ * </p>
+ */
+public interface EventOutbox {
+
+    /**
+     * Store an event to be published. Must be called inside the transaction of the change it describes.
+     *
+     * @param destination the destination the event is published to
+     * @param event the event
+     */
+    default void enqueue(String destination, Object event) {
+        enqueueAll(destination, List.of(event));
+    }
+
+    /**
+     * Store several events to be published, in order. Must be called inside the transaction of the change they describe.
+     *
+     * @param destination the destination the events are published to
+     * @param events the events
+     */
+    void enqueueAll(String destination, List<?> events);
+}
@@ -0,0 +1,18 @@
+package com.iam.service.application.internal.outboundservices.hashing;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * HashingCapacityExceededException
+ * <p>
+ *     Thrown when the password hashing executor and its queue are full. Callers should answer
+ *     with 503 so clients back off instead of waiting on a saturated CPU.
+ * </p>
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class HashingCapacityExceededException extends RuntimeException {
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,7 @@
 package com.iam.service.application.internal.outboundservices.hashing;
 
+import java.util.List;
+
 /**
  * HashingService
  * <p>
@@ -15,6 +17,14 @@ public interface HashingService {
      */
     String encode(CharSequence rawPassword);
 
+    /**
+     * Encode several raw passwords in parallel.
+     *
+     * @param rawPasswords the raw passwords
+     * @return the encoded passwords, in the same order
+     */
+    List<String> encodeAll(List<? extends CharSequence> rawPasswords);
+
     /**
      * Matches the raw password with the encoded password.
      *
@@ -0,0 +1,42 @@
+package com.iam.service.application.internal.outboundservices.tokens;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+
+import java.util.Optional;
+
+/**
+ * RefreshTokenService
+ * <p>
+ *     Interface for refresh token service. This service issues opaque refresh tokens and rotates them,
+ *     so an access token can be renewed without the user's password.
+ * </p>
+ */
+public interface RefreshTokenService {
+
+    /**
+     * Issue a refresh token starting a new family for the user.
+     *
+     * @param userId the id of the user
+     * @return the refresh token value, to be handed to the client once
+     */
+    String issue(Long userId);
+
+    /**
+     * Exchange a refresh token for the next token of its family.
+     * <p>
+     *     The presented token can be used only once. Presenting a token that was already used revokes its
+     *     whole family, since it means the token was copied.
+     * </p>
+     *
+     * @param refreshToken the refresh token value
+     * @return the id of the user and the new refresh token value, or empty if the token is unknown, expired or reused
+     */
+    Optional<ImmutablePair<Long, String>> rotate(String refreshToken);
+
+    /**
+     * Revoke every refresh token of a user.
+     *
+     * @param userId the id of the user
+     */
+    void revokeAll(Long userId);
+}
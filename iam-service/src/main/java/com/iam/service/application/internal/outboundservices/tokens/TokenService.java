@@ -1,5 +1,8 @@
 package com.iam.service.application.internal.outboundservices.tokens;
 
+import com.iam.service.domain.model.aggregates.User;
+import com.iam.service.domain.model.valueobjects.UserSummary;
+
 /**
  * TokenService
  * <p>
@@ -16,6 +19,22 @@ public interface TokenService {
      */
     String generateToken(String username);
 
+    /**
+     * Generate a token for an already loaded user, without looking it up again.
+     *
+     * @param user the {@link User} user, with its id and roles
+     * @return the generated token
+     */
+    String generateToken(User user);
+
+    /**
+     * Generate a token for a user known only by its summary, such as one read from the user details cache.
+     *
+     * @param user the {@link UserSummary} user summary
+     * @return the generated token
+     */
+    String generateToken(UserSummary user);
+
     /**
      * Extract the username from the token.
      *
@@ -1,10 +1,10 @@
 package com.iam.service.application.internal.queryservices;
 
+import com.iam.service.application.internal.registries.RoleRegistry;
 import com.iam.service.domain.model.entities.Role;
 import com.iam.service.domain.model.queries.GetAllRolesQuery;
 import com.iam.service.domain.model.queries.GetRoleByNameQuery;
 import com.iam.service.domain.services.RoleQueryService;
-import com.iam.service.infrastructure.persistence.jpa.repositories.RoleRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,14 +16,14 @@ import java.util.Optional;
  */
 @Service
 public class RoleQueryServiceImpl implements RoleQueryService {
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
 
     /**
      * RoleQueryServiceImpl constructor
-     * @param roleRepository the role repository
+     * @param roleRegistry the role registry
      */
-    public RoleQueryServiceImpl(RoleRepository roleRepository) {
-        this.roleRepository = roleRepository;
+    public RoleQueryServiceImpl(RoleRegistry roleRegistry) {
+        this.roleRegistry = roleRegistry;
     }
 
     /**
@@ -33,7 +33,7 @@ public class RoleQueryServiceImpl implements RoleQueryService {
      */
     @Override
     public List<Role> handle(GetAllRolesQuery query) {
-        return roleRepository.findAll();
+        return roleRegistry.findAll();
     }
 
     /**
@@ -43,6 +43,6 @@ public class RoleQueryServiceImpl implements RoleQueryService {
      */
     @Override
     public Optional<Role> handle(GetRoleByNameQuery query) {
-        return roleRepository.findByName(query.roleName());
+        return roleRegistry.find(query.roleName());
     }
 }
\ No newline at end of file
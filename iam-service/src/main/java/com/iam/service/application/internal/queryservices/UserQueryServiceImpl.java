@@ -5,14 +5,18 @@ import com.iam.service.domain.model.queries.GetAllUsersQuery;
 import com.iam.service.domain.model.queries.GetUserByEmailQuery;
 import com.iam.service.domain.model.queries.GetUserByIdQuery;
 import com.iam.service.domain.model.queries.GetCarriersByManagerQuery;
+import com.iam.service.domain.model.queries.StreamAllUsersQuery;
 import com.iam.service.domain.model.valueobjects.Roles;
+import com.iam.service.domain.model.valueobjects.UserSummary;
 import com.iam.service.domain.services.UserQueryService;
+import com.iam.service.infrastructure.persistence.jdbc.repositories.UserSummaryJdbcRepository;
 import com.iam.service.infrastructure.persistence.jpa.repositories.UserRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Implementation of {@link UserQueryService} interface.
@@ -20,20 +24,35 @@ import java.util.stream.Collectors;
 @Service
 public class UserQueryServiceImpl implements UserQueryService {
     private final UserRepository userRepository;
+    private final UserSummaryJdbcRepository userSummaryJdbcRepository;
 
     /**
      * Constructor.
      *
      * @param userRepository {@link UserRepository} instance.
+     * @param userSummaryJdbcRepository {@link UserSummaryJdbcRepository} instance.
      */
-    public UserQueryServiceImpl(UserRepository userRepository) {
+    public UserQueryServiceImpl(UserRepository userRepository, UserSummaryJdbcRepository userSummaryJdbcRepository) {
         this.userRepository = userRepository;
+        this.userSummaryJdbcRepository = userSummaryJdbcRepository;
     }
 
     // inherited javadoc
     @Override
     public List<User> handle(GetAllUsersQuery query) {
-        return userRepository.findAll();
+        var afterId = query.afterId() != null ? query.afterId() : 0L;
+        if (query.limit() == null) {
+            return userRepository.findAllWithRolesAfter(afterId);
+        }
+        // page on ids first: a fetch join cannot be limited in SQL
+        var ids = userRepository.findIdsAfter(afterId, Limit.of(query.limit()));
+        return ids.isEmpty() ? List.of() : userRepository.findAllWithRolesByIdIn(ids);
+    }
+
+    // inherited javadoc
+    @Override
+    public void handle(StreamAllUsersQuery query, Consumer<UserSummary> consumer) {
+        userSummaryJdbcRepository.streamAfter(query.afterId() != null ? query.afterId() : 0L, consumer);
     }
 
     // inherited javadoc
@@ -51,12 +70,8 @@ public class UserQueryServiceImpl implements UserQueryService {
     // inherited javadoc
     @Override
     public List<User> handle(GetCarriersByManagerQuery query) {
-        return userRepository.findAll().stream()
-                .filter(user ->
-                    user.getRoles().stream().anyMatch(role -> role.getName() == Roles.ROLE_CARRIER) &&
-                    user.getCreatedBy() != null &&
-                    user.getCreatedBy().equals(query.managerId())
-                )
-                .collect(Collectors.toList());
+        var afterId = query.afterId() != null ? query.afterId() : 0L;
+        var limit = query.limit() != null ? Limit.of(query.limit()) : Limit.unlimited();
+        return userRepository.findByCreatedByAndRoleAfter(query.managerId(), Roles.ROLE_CARRIER, afterId, limit);
     }
 }
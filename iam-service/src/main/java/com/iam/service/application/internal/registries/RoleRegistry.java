@@ -0,0 +1,96 @@
+package com.iam.service.application.internal.registries;
+
+import com.iam.service.domain.model.entities.Role;
+import com.iam.service.domain.model.valueobjects.Roles;
+import com.iam.service.infrastructure.persistence.jpa.repositories.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Role registry.
+ * <p>
+ *     Keeps the persisted roles in memory indexed by {@link Roles}, so resolving a role by name does not
+ *     query the database. Roles are fixed reference data that only change when they are seeded, so the
+ *     registry is loaded by {@code RoleCommandServiceImpl} once seeding completes and reloaded only when
+ *     seeding inserts a role. Each reload swaps in a new map, so readers never see a partial one.
+ * </p>
+ * <p>
+ *     The roles held here are detached entities. They can be assigned to new users because the
+ *     user-role association does not cascade to roles, but they must not be modified.
+ * </p>
+ */
+@Component
+public class RoleRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RoleRegistry.class);
+
+    private final RoleRepository roleRepository;
+    private volatile Map<Roles, Role> roles = Collections.emptyMap();
+
+    /**
+     * Constructor.
+     *
+     * @param roleRepository the {@link RoleRepository} role repository.
+     */
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * Reload every role from the database.
+     */
+    public synchronized void refresh() {
+        var loaded = new EnumMap<Roles, Role>(Roles.class);
+        roleRepository.findAll().forEach(role -> loaded.put(role.getName(), role));
+        roles = Collections.unmodifiableMap(loaded);
+        LOGGER.info("Role registry loaded with {} roles", loaded.size());
+    }
+
+    /**
+     * Find a role by name.
+     * <p>
+     *     Only queries the database when the role is not known yet, which can only happen when a
+     *     request arrives before the roles have been seeded.
+     * </p>
+     *
+     * @param name the name of the role.
+     * @return an optional containing the role if it exists, an empty optional otherwise.
+     */
+    public Optional<Role> find(Roles name) {
+        var role = roles.get(name);
+        if (role == null) {
+            synchronized (this) {
+                if (!roles.containsKey(name)) {
+                    refresh();
+                }
+            }
+            role = roles.get(name);
+        }
+        return Optional.ofNullable(role);
+    }
+
+    /**
+     * Check if a role is already known without querying the database.
+     *
+     * @param name the name of the role.
+     * @return true if the role has been loaded.
+     */
+    public boolean contains(Roles name) {
+        return roles.containsKey(name);
+    }
+
+    /**
+     * Get all the loaded roles.
+     *
+     * @return the roles in {@link Roles} declaration order.
+     */
+    public List<Role> findAll() {
+        return List.copyOf(roles.values());
+    }
+}
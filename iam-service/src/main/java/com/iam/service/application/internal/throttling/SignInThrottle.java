@@ -0,0 +1,218 @@
+package com.iam.service.application.internal.throttling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Sign-in throttle
+ * <p>
+ *     Counts failed sign-ins over a sliding window, once per email and once per client address, and
+ *     rejects further attempts until a delay that doubles with every failure past the free allowance
+ *     has elapsed since the last failure. The check runs before the password is compared, so a
+ *     throttled attempt never reaches BCrypt.
+ * </p>
+ * <p>
+ *     Counters live in memory and are updated without locks. Up to {@code signin.throttle.max-tracked}
+ *     emails and as many client addresses are tracked, least recently used dropped first, so a flood of
+ *     made-up emails cannot exhaust the heap; idle counters are dropped by a periodic compaction. Each IAM
+ *     instance throttles on its own, so behind N instances an attacker gets at most N times the allowance.
+ * </p>
+ */
+@Component
+public class SignInThrottle {
+    private static final String METRIC_PREFIX = "iam.signin.throttle";
+
+    private final Map<String, SlidingWindowCounter> emailCounters;
+    private final Map<String, SlidingWindowCounter> addressCounters;
+    private final int slots;
+    private final long slotMillis;
+    private final long windowMillis;
+    private final int emailFreeAttempts;
+    private final int addressFreeAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final LongSupplier clock;
+    private final Counter emailRejections;
+    private final Counter addressRejections;
+    private final Counter failures;
+
+    @Autowired
+    public SignInThrottle(@Value("${signin.throttle.window:15m}") Duration window,
+                          @Value("${signin.throttle.slots:15}") int slots,
+                          @Value("${signin.throttle.email.free-attempts:5}") int emailFreeAttempts,
+                          @Value("${signin.throttle.address.free-attempts:20}") int addressFreeAttempts,
+                          @Value("${signin.throttle.base-delay:1s}") Duration baseDelay,
+                          @Value("${signin.throttle.max-delay:15m}") Duration maxDelay,
+                          @Value("${signin.throttle.max-tracked:100000}") int maxTracked,
+                          MeterRegistry meterRegistry) {
+        this(window, slots, emailFreeAttempts, addressFreeAttempts, baseDelay, maxDelay, maxTracked,
+                System::currentTimeMillis, meterRegistry);
+    }
+
+    SignInThrottle(Duration window, int slots, int emailFreeAttempts, int addressFreeAttempts, Duration baseDelay,
+                   Duration maxDelay, int maxTracked, LongSupplier clock, MeterRegistry meterRegistry) {
+        if (slots <= 0 || window.toMillis() < slots) {
+            throw new IllegalArgumentException("SignInThrottle requires a positive number of slots no larger than the window in milliseconds");
+        }
+        this.slots = slots;
+        this.slotMillis = window.toMillis() / slots;
+        this.windowMillis = slotMillis * slots;
+        this.emailFreeAttempts = emailFreeAttempts;
+        this.addressFreeAttempts = addressFreeAttempts;
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.clock = clock;
+        this.emailCounters = boundedMap(maxTracked);
+        this.addressCounters = boundedMap(maxTracked);
+        this.emailRejections = rejections(meterRegistry, "email");
+        this.addressRejections = rejections(meterRegistry, "address");
+        this.failures = Counter.builder(METRIC_PREFIX + ".failures")
+                .description("Failed sign-ins counted by the throttle")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".tracked", emailCounters, SignInThrottle::size)
+                .tag("key", "email")
+                .description("Emails with failed sign-ins inside the window")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".tracked", addressCounters, SignInThrottle::size)
+                .tag("key", "address")
+                .description("Client addresses with failed sign-ins inside the window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check whether a sign-in attempt may go ahead.
+     *
+     * @param email the email the attempt signs in with
+     * @param clientAddress the client address, or null when unknown
+     * @throws SignInThrottledException when the email or the client address is still being delayed
+     */
+    public void check(String email, String clientAddress) {
+        long now = clock.getAsLong();
+        long emailWait = waitMillis(get(emailCounters, normalize(email)), emailFreeAttempts, now);
+        if (emailWait > 0) {
+            emailRejections.increment();
+            throw new SignInThrottledException("Too many failed sign-ins for this account, retry later", toSeconds(emailWait));
+        }
+        long addressWait = clientAddress == null ? 0L : waitMillis(get(addressCounters, clientAddress), addressFreeAttempts, now);
+        if (addressWait > 0) {
+            addressRejections.increment();
+            throw new SignInThrottledException("Too many failed sign-ins from this address, retry later", toSeconds(addressWait));
+        }
+    }
+
+    /**
+     * Count a failed sign-in against the email and the client address.
+     *
+     * @param email the email the attempt signed in with
+     * @param clientAddress the client address, or null when unknown
+     */
+    public void recordFailure(String email, String clientAddress) {
+        long now = clock.getAsLong();
+        long slot = now / slotMillis;
+        counter(emailCounters, normalize(email)).increment(slot, now);
+        if (clientAddress != null) {
+            counter(addressCounters, clientAddress).increment(slot, now);
+        }
+        failures.increment();
+    }
+
+    /**
+     * Forget the failures of an email after a successful sign-in. The client address keeps its
+     * failures, since one address can hold valid credentials for one account while guessing others.
+     *
+     * @param email the email that signed in
+     */
+    public void recordSuccess(String email) {
+        synchronized (emailCounters) {
+            emailCounters.remove(normalize(email));
+        }
+    }
+
+    /**
+     * Drops counters whose last failure has left the window; they would no longer delay anyone.
+     */
+    @Scheduled(fixedDelayString = "${signin.throttle.compaction-interval-ms:60000}")
+    public void compact() {
+        long idleBefore = clock.getAsLong() - windowMillis;
+        synchronized (emailCounters) {
+            emailCounters.values().removeIf(counter -> counter.lastEventMillis() < idleBefore);
+        }
+        synchronized (addressCounters) {
+            addressCounters.values().removeIf(counter -> counter.lastEventMillis() < idleBefore);
+        }
+    }
+
+    /**
+     * @return 0 when an attempt is allowed, otherwise the milliseconds left until it is
+     */
+    private long waitMillis(SlidingWindowCounter counter, int freeAttempts, long now) {
+        if (counter == null) {
+            return 0L;
+        }
+        long excess = counter.sum(now / slotMillis) - freeAttempts;
+        if (excess <= 0) {
+            return 0L;
+        }
+        // the first failure past the allowance waits the base delay, every further one doubles it
+        long delay = excess - 1 >= Long.numberOfLeadingZeros(baseDelayMillis) - 1
+                ? maxDelayMillis
+                : Math.min(maxDelayMillis, baseDelayMillis << (excess - 1));
+        return Math.max(0L, counter.lastEventMillis() + delay - now);
+    }
+
+    private SlidingWindowCounter counter(Map<String, SlidingWindowCounter> counters, String key) {
+        synchronized (counters) {
+            return counters.computeIfAbsent(key, k -> new SlidingWindowCounter(slots));
+        }
+    }
+
+    private static SlidingWindowCounter get(Map<String, SlidingWindowCounter> counters, String key) {
+        synchronized (counters) {
+            return counters.get(key);
+        }
+    }
+
+    private static int size(Map<String, SlidingWindowCounter> counters) {
+        synchronized (counters) {
+            return counters.size();
+        }
+    }
+
+    /**
+     * Access-ordered map dropping its least recently used counter once it holds more than maxSize.
+     */
+    private static Map<String, SlidingWindowCounter> boundedMap(int maxSize) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SlidingWindowCounter> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toSeconds(long millis) {
+        return Math.max(1L, (millis + 999L) / 1000L);
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String key) {
+        return Counter.builder(METRIC_PREFIX + ".rejected")
+                .tag("key", key)
+                .description("Sign-in attempts rejected before the password was checked")
+                .register(meterRegistry);
+    }
+}
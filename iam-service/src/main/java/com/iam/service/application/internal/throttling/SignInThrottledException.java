@@ -0,0 +1,26 @@
+package com.iam.service.application.internal.throttling;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * SignInThrottledException
+ * <p>
+ *     Thrown when a sign-in attempt arrives before the delay imposed by previous failed attempts
+ *     for the same email or client address has elapsed. Callers should answer with 429 and a
+ *     Retry-After header.
+ * </p>
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class SignInThrottledException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public SignInThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,64 @@
+package com.iam.service.application.internal.throttling;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window counter
+ * <p>
+ *     Counts events over the last {@code slots} time slots. Each slot is one long packing the slot number
+ *     it belongs to (high bits) with its count (low 24 bits), updated with compare-and-set, so a slot left
+ *     over from an earlier turn of the ring is recognised and restarted without any lock.
+ * </p>
+ */
+final class SlidingWindowCounter {
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray slots;
+    private final AtomicLong lastEventMillis = new AtomicLong();
+
+    SlidingWindowCounter(int slotCount) {
+        this.slots = new AtomicLongArray(slotCount);
+    }
+
+    /**
+     * Count one event.
+     *
+     * @param slot the current slot number
+     * @param nowMillis the current time
+     */
+    void increment(long slot, long nowMillis) {
+        int index = (int) (slot % slots.length());
+        while (true) {
+            long current = slots.get(index);
+            long count = (current >>> COUNT_BITS) == slot ? Math.min((current & COUNT_MASK) + 1, COUNT_MASK) : 1L;
+            if (slots.compareAndSet(index, current, (slot << COUNT_BITS) | count)) {
+                break;
+            }
+        }
+        lastEventMillis.accumulateAndGet(nowMillis, Math::max);
+    }
+
+    /**
+     * @param slot the current slot number
+     * @return the number of events counted in the window ending with the current slot
+     */
+    long sum(long slot) {
+        long total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long value = slots.get(i);
+            if (slot - (value >>> COUNT_BITS) < slots.length()) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return when the last event was counted
+     */
+    long lastEventMillis() {
+        return lastEventMillis.get();
+    }
+}
@@ -0,0 +1,10 @@
+package com.iam.service.domain.model.commands;
+
+/**
+ * Command to renew the tokens of a user with a refresh token.
+ * <p>
+ *     This command is used to obtain a new access token and the next refresh token without the user's password.
+ * </p>
+ */
+public record RefreshTokenCommand(String refreshToken) {
+}
@@ -0,0 +1,16 @@
+package com.iam.service.domain.model.commands;
+
+import java.util.List;
+
+/**
+ * Command to register several carriers at once by a manager.
+ * <p>
+ *     Each carrier is registered independently: a carrier that cannot be registered is reported
+ *     in the results without preventing the registration of the others.
+ * </p>
+ *
+ * @param managerId the id of the manager registering the carriers
+ * @param carriers the carriers to register, in the order their results are reported
+ */
+public record RegisterCarriersCommand(Long managerId, List<RegisterCarrierCommand> carriers) {
+}
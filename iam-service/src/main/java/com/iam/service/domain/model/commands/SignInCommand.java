@@ -4,8 +4,12 @@ package com.iam.service.domain.model.commands;
  * Command to sign in a user.
  * <p>
  *     This command is used to sign in a user in the system.
- *     It contains the username and password of the user.
+ *     It contains the username and password of the user, and the address of the client
+ *     signing in, which is used to throttle repeated failures.
  * </p>
  */
-public record SignInCommand(String username, String password) {
+public record SignInCommand(String username, String password, String clientAddress) {
+    public SignInCommand(String username, String password) {
+        this(username, password, null);
+    }
 }
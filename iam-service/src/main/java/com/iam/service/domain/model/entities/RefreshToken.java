@@ -0,0 +1,75 @@
+package com.iam.service.domain.model.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * RefreshToken
+ * <p>
+ *  Opaque token that lets a user obtain a new access token without sending the password again.
+ *  Only the SHA-256 hash of the token is stored. Every token belongs to a family started at sign-in;
+ *  each refresh marks the presented token as used and issues the next token of the same family.
+ * </p>
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id")
+})
+@Getter
+@NoArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", length = 64, nullable = false)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "family_id", length = 36, nullable = false)
+    private String familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    /**
+     * Constructor
+     * <p>
+     *  Creates a new unused refresh token.
+     * </p>
+     * @param tokenHash The hex SHA-256 hash of the token.
+     * @param userId The id of the user the token belongs to.
+     * @param familyId The family the token belongs to.
+     * @param expiresAt When the token expires.
+     */
+    public RefreshToken(String tokenHash, Long userId, String familyId, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.userId = userId;
+        this.familyId = familyId;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * isExpired
+     * <p>
+     *  Returns whether the token has expired.
+     * </p>
+     * @param now The current instant.
+     * @return True if the token has expired.
+     */
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
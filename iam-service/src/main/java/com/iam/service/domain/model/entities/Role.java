@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@Table(name = "roles")
 @Data
 @NoArgsConstructor
 public class Role {
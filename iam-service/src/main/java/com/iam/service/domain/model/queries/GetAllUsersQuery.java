@@ -2,6 +2,15 @@ package com.iam.service.domain.model.queries;
 
 /**
  * Query to get all users.
+ * <p>
+ *     Results are ordered by id; {@code afterId} and {@code limit} select one page of them.
+ * </p>
+ *
+ * @param afterId only users with a greater id are returned, null to start from the first one
+ * @param limit the maximum number of users to return, null for all of them
  */
-public record GetAllUsersQuery() {
+public record GetAllUsersQuery(Long afterId, Integer limit) {
+    public GetAllUsersQuery() {
+        this(null, null);
+    }
 }
@@ -4,7 +4,15 @@ package com.iam.service.domain.model.queries;
  * Query to get all carriers by a specific manager.
  * <p>
  *     This query is used to get all carriers created by a specific manager.
+ *     Results are ordered by id; {@code afterId} and {@code limit} select one page of them.
  * </p>
+ *
+ * @param managerId the id of the manager
+ * @param afterId only carriers with a greater id are returned, null to start from the first one
+ * @param limit the maximum number of carriers to return, null for all of them
  */
-public record GetCarriersByManagerQuery(Long managerId) {
+public record GetCarriersByManagerQuery(Long managerId, Long afterId, Integer limit) {
+    public GetCarriersByManagerQuery(Long managerId) {
+        this(managerId, null, null);
+    }
 }
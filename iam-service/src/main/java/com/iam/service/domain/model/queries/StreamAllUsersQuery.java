@@ -0,0 +1,12 @@
+package com.iam.service.domain.model.queries;
+
+/**
+ * Query to stream all users one by one.
+ * <p>
+ *     Users are delivered in id order without holding the whole table in memory.
+ * </p>
+ *
+ * @param afterId only users with a greater id are streamed, null to start from the first one
+ */
+public record StreamAllUsersQuery(Long afterId) {
+}
@@ -0,0 +1,26 @@
+package com.iam.service.domain.model.valueobjects;
+
+/**
+ * Carrier registration result.
+ * <p>
+ *     Outcome of registering one carrier of a {@code RegisterCarriersCommand}.
+ * </p>
+ *
+ * @param row the position of the carrier in the command, starting at 0
+ * @param email the email of the carrier
+ * @param userId the id of the created user, null if the carrier was not registered
+ * @param errorCode why the carrier was not registered, null if it was
+ */
+public record CarrierRegistrationResult(int row, String email, Long userId, String errorCode) {
+    public static CarrierRegistrationResult created(int row, String email, Long userId) {
+        return new CarrierRegistrationResult(row, email, userId, null);
+    }
+
+    public static CarrierRegistrationResult failed(int row, String email, String errorCode) {
+        return new CarrierRegistrationResult(row, email, null, errorCode);
+    }
+
+    public boolean isCreated() {
+        return userId != null;
+    }
+}
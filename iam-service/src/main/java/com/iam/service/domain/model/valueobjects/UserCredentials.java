@@ -0,0 +1,29 @@
+package com.iam.service.domain.model.valueobjects;
+
+import java.util.List;
+
+/**
+ * User credentials.
+ * <p>
+ *     Read-only view of what a sign-in needs from a user: its id, email, password hash and role
+ *     names. It is small and immutable, so it can be cached and shared between requests where
+ *     a {@code User} aggregate could not.
+ * </p>
+ *
+ * @param id the user id
+ * @param email the user email
+ * @param password the password hash
+ * @param roles the user roles
+ */
+public record UserCredentials(Long id, String email, String password, List<Roles> roles) {
+    public UserCredentials {
+        roles = List.copyOf(roles);
+    }
+
+    /**
+     * @return the user without its password hash
+     */
+    public UserSummary toSummary() {
+        return new UserSummary(id, email, roles);
+    }
+}
@@ -0,0 +1,17 @@
+package com.iam.service.domain.model.valueobjects;
+
+import java.util.List;
+
+/**
+ * User summary.
+ * <p>
+ *     Read-only view of a user with its role names, used when users are streamed
+ *     straight from the database instead of being loaded as {@code User} aggregates.
+ * </p>
+ *
+ * @param id the user id
+ * @param email the user email
+ * @param roles the user roles
+ */
+public record UserSummary(Long id, String email, List<Roles> roles) {
+}
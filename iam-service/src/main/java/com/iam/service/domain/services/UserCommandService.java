@@ -3,11 +3,16 @@ package com.iam.service.domain.services;
 import com.iam.service.domain.model.aggregates.User;
 import com.iam.service.domain.model.commands.ChangeEmailCommand;
 import com.iam.service.domain.model.commands.ChangePasswordCommand;
+import com.iam.service.domain.model.commands.RefreshTokenCommand;
 import com.iam.service.domain.model.commands.RegisterCarrierCommand;
+import com.iam.service.domain.model.commands.RegisterCarriersCommand;
 import com.iam.service.domain.model.commands.SignInCommand;
 import com.iam.service.domain.model.commands.SignUpCommand;
-import org.apache.commons.lang3.tuple.ImmutablePair;
+import com.iam.service.domain.model.valueobjects.CarrierRegistrationResult;
+import com.iam.service.domain.model.valueobjects.UserSummary;
+import org.apache.commons.lang3.tuple.ImmutableTriple;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -30,9 +35,20 @@ public interface UserCommandService {
      * Handle sign in command.
      *
      * @param command the command
-     * @return an optional of user and token if the sign-in was successful
+     * @return an optional of user summary, access token and refresh token if the sign-in was successful
      */
-    Optional<ImmutablePair<User, String>> handle(SignInCommand command);
+    Optional<ImmutableTriple<UserSummary, String, String>> handle(SignInCommand command);
+
+    /**
+     * Handle refresh token command.
+     * <p>
+     *     Renews the tokens of a user without checking the password.
+     * </p>
+     *
+     * @param command the command
+     * @return an optional of user, access token and the next refresh token, empty if the refresh token is not valid
+     */
+    Optional<ImmutableTriple<User, String, String>> handle(RefreshTokenCommand command);
 
     /**
      * Handle change password command.
@@ -60,6 +76,14 @@ public interface UserCommandService {
      */
     Optional<User> handle(RegisterCarrierCommand command);
 
+    /**
+     * Handle register carriers command.
+     *
+     * @param command the command containing the carriers and manager ID
+     * @return the result of each carrier registration, in the order of the command
+     */
+    List<CarrierRegistrationResult> handle(RegisterCarriersCommand command);
+
     /**
      * Delete a user by ID.
      *
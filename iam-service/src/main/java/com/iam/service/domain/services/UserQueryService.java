@@ -5,9 +5,12 @@ import com.iam.service.domain.model.queries.GetAllUsersQuery;
 import com.iam.service.domain.model.queries.GetUserByEmailQuery;
 import com.iam.service.domain.model.queries.GetUserByIdQuery;
 import com.iam.service.domain.model.queries.GetCarriersByManagerQuery;
+import com.iam.service.domain.model.queries.StreamAllUsersQuery;
+import com.iam.service.domain.model.valueobjects.UserSummary;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * User query service.
@@ -20,11 +23,22 @@ public interface UserQueryService {
     /**
      * Handle get all user queries.
      *
-     * @param query the query
-     * @return a list of users
+     * @param query the query, optionally selecting one page of users
+     * @return a list of users ordered by id
      */
     List<User> handle(GetAllUsersQuery query);
 
+    /**
+     * Handle stream all users query.
+     * <p>
+     *     Users are passed to the consumer one at a time, in id order, while they are read.
+     * </p>
+     *
+     * @param query the query
+     * @param consumer receives each user
+     */
+    void handle(StreamAllUsersQuery query, Consumer<UserSummary> consumer);
+
     /**
      * Handle get user by id query.
      *
@@ -54,7 +54,7 @@ public class WebSecurityConfiguration {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/v1/authentication/**", "/api/v1/carriers/sign-up", "/actuator/**").permitAll()
+                        .requestMatchers("/api/v1/authentication/**", "/api/v1/carriers/sign-up", "/api/v1/carriers/sign-up/bulk", "/actuator/**").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-resources/**").permitAll()
                         .requestMatchers("/api/v1/users/**", "/api/v1/roles/**").permitAll()
                         .anyRequest().authenticated())
@@ -1,6 +1,6 @@
 package com.iam.service.infrastructure.authorization.sfs.model;
 
-import com.iam.service.domain.model.aggregates.User;
+import com.iam.service.domain.model.valueobjects.UserCredentials;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -42,18 +42,18 @@ public class UserDetailsImpl implements UserDetails {
 
     /**
      * Build user details
-     * @param user User
+     * @param credentials User credentials
      * @return User details
      */
-    public static UserDetailsImpl build(User user) {
-        var authorities = user.getRoles().stream()
-                .map(role -> role.getName().name())
+    public static UserDetailsImpl build(UserCredentials credentials) {
+        var authorities = credentials.roles().stream()
+                .map(Enum::name)
                 .map(SimpleGrantedAuthority::new)
                 .toList();
 
         return new UserDetailsImpl(
-                user.getEmail(),
-                user.getPassword(),
+                credentials.email(),
+                credentials.password(),
                 authorities
         );
     }
@@ -1,25 +1,91 @@
 package com.iam.service.infrastructure.authorization.sfs.services;
 
+import com.iam.service.application.internal.outboundservices.authorization.UserDetailsCacheService;
+import com.iam.service.domain.model.aggregates.User;
+import com.iam.service.domain.model.entities.Role;
+import com.iam.service.domain.model.valueobjects.UserCredentials;
 import com.iam.service.infrastructure.authorization.sfs.model.UserDetailsImpl;
 import com.iam.service.infrastructure.persistence.jpa.repositories.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * User details service implementation
+ * <p>
+ *     Keeps up to {@code authorization.user-details-cache.max-size} user credentials in memory, keyed by email
+ *     and evicted least recently used first. Sign-in reads them through {@link #findByEmail(String)}, so
+ *     repeated sign-ins do not query the database.
+ * </p>
+ * <p>
+ *     Consistency: on this instance, once {@code UserCommandServiceImpl} has saved a password change,
+ *     an email change or a deletion it evicts the affected emails, and every later authentication
+ *     reads the new state. A load that started before an eviction is not cached, so a stale read
+ *     cannot repopulate the cache. Changes made through another IAM instance, or directly in the
+ *     database, are not seen here until the entry expires after {@code authorization.user-details-cache.ttl};
+ *     that TTL is the staleness bound across instances. Unknown emails are never cached.
+ * </p>
  */
 @Service(value = "defaultUserDetailsService")
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsCacheService {
+    private static final String METRIC_PREFIX = "iam.user.details.cache";
+
     private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final Map<String, CachedCredentials> cache;
+    private final AtomicLong evictions = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
 
     /**
      * Constructor
      * @param userRepository {@link UserRepository} User repository
+     * @param maxSize maximum number of cached user details
+     * @param ttl time after which a cached entry is reloaded even if it was not evicted
+     * @param meterRegistry registry for the cache metrics
      */
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  @Value("${authorization.user-details-cache.max-size:10000}") int maxSize,
+                                  @Value("${authorization.user-details-cache.ttl:5m}") Duration ttl,
+                                  MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedCredentials> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("User details lookups answered from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("User details lookups that queried the database")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictions, AtomicLong::get)
+                .description("User details evicted because the user changed")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".hit.ratio", this, UserDetailsServiceImpl::hitRatio)
+                .description("Share of user details lookups answered from the cache")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, UserDetailsServiceImpl::size)
+                .description("User details currently cached")
+                .register(meterRegistry);
     }
 
     /**
@@ -36,9 +102,65 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        var user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email ));
-        return UserDetailsImpl.build(user);
+        return findByEmail(email)
+                .map(UserDetailsImpl::build)
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
+    }
+
+    // inherited javadoc
+    @Override
+    public Optional<UserCredentials> findByEmail(String email) {
+        long now = System.nanoTime();
+        CachedCredentials cached;
+        long evictionsBeforeLoad;
+        synchronized (cache) {
+            cached = cache.get(email);
+            evictionsBeforeLoad = evictions.get();
+        }
+        if (cached != null && now - cached.expiresAtNanos() < 0) {
+            hits.increment();
+            return Optional.of(cached.credentials());
+        }
+        misses.increment();
+        var credentials = userRepository.findByEmail(email).map(UserDetailsServiceImpl::credentials);
+        if (credentials.isEmpty()) {
+            return credentials;
+        }
+        synchronized (cache) {
+            // an eviction during the load may mean the user we read is already outdated
+            if (evictions.get() == evictionsBeforeLoad) {
+                cache.put(email, new CachedCredentials(credentials.get(), now + ttlNanos));
+            }
+        }
+        return credentials;
+    }
+
+    // inherited javadoc
+    @Override
+    public void evict(String email) {
+        synchronized (cache) {
+            evictions.incrementAndGet();
+            cache.remove(email);
+        }
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
     }
-}
 
+    private static UserCredentials credentials(User user) {
+        var roles = user.getRoles().stream().map(Role::getName).toList();
+        return new UserCredentials(user.getId(), user.getEmail(), user.getPassword(), roles);
+    }
+
+    private record CachedCredentials(UserCredentials credentials, long expiresAtNanos) {
+    }
+}
@@ -1,19 +1,77 @@
 package com.iam.service.infrastructure.hashing.bcrypt.services;
 
+import com.iam.service.application.internal.outboundservices.hashing.HashingCapacityExceededException;
 import com.iam.service.infrastructure.hashing.bcrypt.BCryptHashingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * The hashing service implementation.
  * This class is responsible for encoding and matching the raw password.
+ * BCrypt runs on a dedicated pool sized to the available cores with a bounded queue, so a
+ * burst of sign-ins cannot take every CPU away from the other endpoints; when the queue is
+ * full the call fails fast with {@link HashingCapacityExceededException}. Bulk encoding keeps at
+ * most one task per pool thread outstanding, so it never fills the queue ahead of single requests.
  */
 @Service
 public class HashingServiceImpl implements BCryptHashingService {
+    private static final String METRIC_PREFIX = "iam.hashing";
+
     private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejections;
 
-    public HashingServiceImpl() {
+    public HashingServiceImpl(@Value("${hashing.bcrypt.pool-size:0}") int poolSize,
+                              @Value("${hashing.bcrypt.queue-capacity:64}") int queueCapacity,
+                              MeterRegistry meterRegistry) {
         this.passwordEncoder = new BCryptPasswordEncoder();
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .tag("operation", "encode")
+                .description("Time spent computing a BCrypt hash")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .tag("operation", "matches")
+                .description("Time spent computing a BCrypt hash")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder(METRIC_PREFIX + ".queue.wait")
+                .description("Time a hashing task waited for a free thread")
+                .register(meterRegistry);
+        this.rejections = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", executor, e -> e.getQueue().size())
+                .description("Hashing tasks waiting for a free thread")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads currently busy")
+                .register(meterRegistry);
     }
 
     /**
@@ -24,7 +82,51 @@ public class HashingServiceImpl implements BCryptHashingService {
      */
     @Override
     public String encode(CharSequence rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        return execute(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Encode several raw passwords on the hashing pool.
+     * <p>
+     *     Submits at most as many tasks as the pool has threads and waits for the oldest one before
+     *     submitting the next, so a large batch shares the pool with concurrent sign-ins instead of
+     *     being rejected or crowding them out of the queue.
+     * </p>
+     *
+     * @param rawPasswords the raw passwords
+     * @return the encoded passwords, in the same order
+     */
+    @Override
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int window = executor.getMaximumPoolSize();
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> inFlight = new ArrayDeque<>(window);
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                if (inFlight.size() >= window) {
+                    await(inFlight.poll());
+                }
+                Future<String> future = submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+                while (future == null) {
+                    if (inFlight.isEmpty()) {
+                        rejections.increment();
+                        throw new HashingCapacityExceededException("Password hashing capacity exceeded, try again later");
+                    }
+                    await(inFlight.poll());
+                    future = submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+                }
+                futures.add(future);
+                inFlight.add(future);
+            }
+            List<String> encoded = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                encoded.add(await(future));
+            }
+            return encoded;
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
     }
 
     /**
@@ -36,6 +138,63 @@ public class HashingServiceImpl implements BCryptHashingService {
      */
     @Override
     public boolean matches(CharSequence rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return execute(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Timer timer, Callable<T> task) {
+        Future<T> future = submit(timer, task);
+        if (future == null) {
+            rejections.increment();
+            throw new HashingCapacityExceededException("Password hashing capacity exceeded, try again later");
+        }
+        return await(future);
+    }
+
+    /**
+     * Submit a task to the pool.
+     *
+     * @return the future of the task, or null when the queue is full
+     */
+    private <T> Future<T> submit(Timer timer, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "bcrypt-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 }
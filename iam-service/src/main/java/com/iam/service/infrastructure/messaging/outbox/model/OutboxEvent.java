@@ -0,0 +1,40 @@
+package com.iam.service.infrastructure.messaging.outbox.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outbox event
+ * <p>
+ *     Row of the outbox table: an event waiting to be published, written in the same transaction as the change
+ *     it describes. Rows are claimed by one relay at a time, published in id order and deleted once the broker has
+ *     confirmed them.
+ *     The entity only declares the table; rows are written and read with JDBC.
+ * </p>
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String destination;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // set while a relay publishes the event; a claim that has lapsed is ignored
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+}
@@ -0,0 +1,46 @@
+package com.iam.service.infrastructure.messaging.outbox.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iam.service.application.internal.outboundservices.events.EventOutbox;
+import com.iam.service.infrastructure.persistence.jdbc.repositories.OutboxEventJdbcRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Event outbox implementation.
+ * Serializes events to JSON and inserts them into the outbox table in the caller's transaction;
+ * {@link OutboxRelay} publishes them.
+ */
+@Service
+public class EventOutboxImpl implements EventOutbox {
+    private final OutboxEventJdbcRepository outboxEventJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    public EventOutboxImpl(OutboxEventJdbcRepository outboxEventJdbcRepository, ObjectMapper objectMapper) {
+        this.outboxEventJdbcRepository = outboxEventJdbcRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // inherited javadoc
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(String destination, List<?> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        var payloads = new ArrayList<String>(events.size());
+        for (Object event : events) {
+            try {
+                payloads.add(objectMapper.writeValueAsString(event));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Event cannot be serialized: " + event, e);
+            }
+        }
+        outboxEventJdbcRepository.insertAll(destination, payloads);
+    }
+}
@@ -0,0 +1,207 @@
+package com.iam.service.infrastructure.messaging.outbox.services;
+
+import com.iam.service.infrastructure.persistence.jdbc.repositories.OutboxEventJdbcRepository;
+import com.iam.service.infrastructure.persistence.jdbc.repositories.OutboxEventJdbcRepository.PendingEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox relay
+ * <p>
+ *     Publishes the outbox in id order, {@code outbox.relay.batch-size} events at a time. A batch is claimed for
+ *     {@code outbox.relay.claim-lease} in a short READ COMMITTED transaction, so no gap lock is taken and inserts
+ *     from sign-ups never wait on the relay. It is then sent with no transaction open, and only the events up to
+ *     the first one the broker did not confirm are deleted; the rest are released and sent again on the next run.
+ *     Delivery is therefore at least once, and consumers must tolerate duplicates. If the relay dies mid-batch,
+ *     the claim lapses and another relay picks the events up.
+ * </p>
+ * <p>
+ *     After a failed run the relay waits {@code outbox.relay.initial-backoff}, doubling on every consecutive
+ *     failure up to {@code outbox.relay.max-backoff}, so an unavailable broker is not retried in a tight loop.
+ * </p>
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final String METRIC_PREFIX = "iam.outbox";
+
+    private final OutboxEventJdbcRepository outboxEventJdbcRepository;
+    private final StreamBridge streamBridge;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+    private final Duration claimLease;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Counter published;
+    private final Counter failures;
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong oldestCreatedAtMillis = new AtomicLong();
+
+    private int consecutiveFailures;
+    private long backoffUntilMillis;
+
+    public OutboxRelay(OutboxEventJdbcRepository outboxEventJdbcRepository,
+                       StreamBridge streamBridge,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.confirm-timeout:5s}") Duration confirmTimeout,
+                       @Value("${outbox.relay.claim-lease:1m}") Duration claimLease,
+                       @Value("${outbox.relay.initial-backoff:500ms}") Duration initialBackoff,
+                       @Value("${outbox.relay.max-backoff:1m}") Duration maxBackoff,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventJdbcRepository = outboxEventJdbcRepository;
+        this.streamBridge = streamBridge;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.batchSize = batchSize;
+        this.confirmTimeoutMillis = confirmTimeout.toMillis();
+        this.claimLease = claimLease;
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+
+        this.published = Counter.builder(METRIC_PREFIX + ".published")
+                .description("Outbox events confirmed by the broker")
+                .register(meterRegistry);
+        this.failures = Counter.builder(METRIC_PREFIX + ".publish.failures")
+                .description("Relay runs stopped by a nack, a timeout or a broker error")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", size, AtomicLong::get)
+                .description("Events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".lag.seconds", this, OutboxRelay::lagSeconds)
+                .description("Age of the oldest event waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish every waiting event, one batch after the other, unless the relay is backing off.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void relay() {
+        if (System.currentTimeMillis() < backoffUntilMillis) {
+            return;
+        }
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+            consecutiveFailures = 0;
+        } catch (RuntimeException e) {
+            failures.increment();
+            long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(consecutiveFailures, 20));
+            consecutiveFailures++;
+            backoffUntilMillis = System.currentTimeMillis() + backoff;
+            LOGGER.warn("Outbox relay failed ({} in a row), retrying in {} ms: {}", consecutiveFailures, backoff, e.getMessage());
+        } finally {
+            refreshStats();
+        }
+    }
+
+    /**
+     * Claim one batch, publish it and delete the confirmed prefix.
+     *
+     * @return the number of events published and deleted
+     * @throws IllegalStateException if an event was not confirmed; the events before it are still deleted
+     */
+    private int relayBatch() {
+        var now = Instant.now();
+        List<PendingEvent> batch = transactionTemplate.execute(status ->
+                outboxEventJdbcRepository.claimOldest(batchSize, now, now.plus(claimLease)));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        var correlations = new ArrayList<CorrelationData>(batch.size());
+        RuntimeException failure = null;
+        for (var event : batch) {
+            var correlation = new CorrelationData(Long.toString(event.id()));
+            var message = MessageBuilder.withPayload(event.payload().getBytes(StandardCharsets.UTF_8))
+                    .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE)
+                    .setHeader(AmqpHeaders.PUBLISH_CONFIRM_CORRELATION, correlation)
+                    .build();
+            try {
+                if (!streamBridge.send(event.destination(), message)) {
+                    failure = new IllegalStateException("Event " + event.id() + " was not sent");
+                    break;
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+                break;
+            }
+            correlations.add(correlation);
+        }
+        // confirms arrive asynchronously; only the prefix confirmed without a gap can be deleted
+        var confirmed = new ArrayList<Long>(correlations.size());
+        for (int i = 0; i < correlations.size(); i++) {
+            if (!isConfirmed(correlations.get(i))) {
+                failure = new IllegalStateException("Event " + batch.get(i).id() + " was not confirmed by the broker");
+                break;
+            }
+            confirmed.add(batch.get(i).id());
+        }
+        var unconfirmed = batch.subList(confirmed.size(), batch.size()).stream().map(PendingEvent::id).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEventJdbcRepository.deleteAll(confirmed);
+            outboxEventJdbcRepository.releaseAll(unconfirmed);
+        });
+        published.increment(confirmed.size());
+        if (failure != null) {
+            throw failure;
+        }
+        return confirmed.size();
+    }
+
+    private boolean isConfirmed(CorrelationData correlation) {
+        try {
+            var confirm = correlation.getFuture().get(confirmTimeoutMillis, TimeUnit.MILLISECONDS);
+            return confirm.isAck() && correlation.getReturned() == null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    private void refreshStats() {
+        try {
+            var stats = outboxEventJdbcRepository.stats();
+            size.set(stats.size());
+            oldestCreatedAtMillis.set(stats.oldestCreatedAt() != null ? stats.oldestCreatedAt().toEpochMilli() : 0L);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not read outbox statistics: {}", e.getMessage());
+        }
+    }
+
+    private double lagSeconds() {
+        long oldest = oldestCreatedAtMillis.get();
+        return oldest == 0L ? 0.0 : Math.max(0L, Instant.now().toEpochMilli() - oldest) / 1000.0;
+    }
+}
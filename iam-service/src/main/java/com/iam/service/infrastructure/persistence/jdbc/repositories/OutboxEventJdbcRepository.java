@@ -0,0 +1,140 @@
+package com.iam.service.infrastructure.persistence.jdbc.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outbox event JDBC repository.
+ * <p>
+ *     Reads and writes the outbox table. Inserts join the transaction of the change being recorded. The relay
+ *     claims a batch in a short transaction of its own, publishes it with no transaction open, and then deletes
+ *     or releases it, so the locks it takes never last while the broker is being waited on.
+ * </p>
+ */
+@Repository
+public class OutboxEventJdbcRepository {
+    private static final String INSERT_SQL = "insert into outbox_events (destination, payload, created_at) values (?, ?, ?)";
+    // FOR UPDATE makes a second relay wait for the claim of the first one, which is a short transaction
+    private static final String LOCK_BATCH_SQL = "select id, destination, payload, claimed_until from outbox_events order by id limit ? for update";
+    private static final String STATS_SQL = "select count(*), min(created_at) from outbox_events";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxEventJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert events with one JDBC batch.
+     *
+     * @param destination the destination of the events.
+     * @param payloads the serialized events, in order.
+     */
+    public void insertAll(String destination, List<String> payloads) {
+        var createdAt = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, payloads, payloads.size(), (ps, payload) -> {
+            ps.setString(1, destination);
+            ps.setString(2, payload);
+            ps.setTimestamp(3, createdAt);
+        });
+    }
+
+    /**
+     * Claim the oldest events until the given time, so no other relay publishes them meanwhile. Only the
+     * oldest events not claimed by someone else are returned, stopping at the first one that is, so
+     * events are always published in id order. Must run in a transaction.
+     *
+     * @param limit the maximum number of events to claim.
+     * @param now the current time; claims that end before it have lapsed.
+     * @param claimedUntil when the claim lapses if the events are neither deleted nor released.
+     * @return the claimed events in id order, empty if the oldest event is claimed by another relay.
+     */
+    public List<PendingEvent> claimOldest(int limit, Instant now, Instant claimedUntil) {
+        // null marks an event still claimed by another relay
+        var locked = jdbcTemplate.query(LOCK_BATCH_SQL, (rs, rowNum) -> {
+            var currentClaim = rs.getTimestamp(4);
+            return currentClaim == null || currentClaim.toInstant().isBefore(now)
+                    ? new PendingEvent(rs.getLong(1), rs.getString(2), rs.getString(3))
+                    : null;
+        }, limit);
+        var claimed = new ArrayList<PendingEvent>(locked.size());
+        for (var event : locked) {
+            if (event == null) {
+                break;
+            }
+            claimed.add(event);
+        }
+        if (!claimed.isEmpty()) {
+            var ids = claimed.stream().map(PendingEvent::id).toList();
+            var placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+            var args = new ArrayList<Object>(ids.size() + 1);
+            args.add(Timestamp.from(claimedUntil));
+            args.addAll(ids);
+            jdbcTemplate.update("update outbox_events set claimed_until = ? where id in (" + placeholders + ")", args.toArray());
+        }
+        return claimed;
+    }
+
+    /**
+     * Release claimed events that could not be published, so the next run can retry them at once.
+     *
+     * @param ids the ids of the events.
+     */
+    public void releaseAll(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        var placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.update("update outbox_events set claimed_until = null where id in (" + placeholders + ")", ids.toArray());
+    }
+
+    /**
+     * Delete published events.
+     *
+     * @param ids the ids of the events.
+     */
+    public void deleteAll(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        var placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.update("delete from outbox_events where id in (" + placeholders + ")", ids.toArray());
+    }
+
+    /**
+     * Count the events waiting and find when the oldest one was stored.
+     *
+     * @return the outbox statistics.
+     */
+    public OutboxStats stats() {
+        return jdbcTemplate.queryForObject(STATS_SQL, (rs, rowNum) -> {
+            var oldest = rs.getTimestamp(2);
+            return new OutboxStats(rs.getLong(1), oldest != null ? oldest.toInstant() : null);
+        });
+    }
+
+    /**
+     * An event waiting to be published.
+     *
+     * @param id the id of the event, which gives the publication order.
+     * @param destination the destination of the event.
+     * @param payload the serialized event.
+     */
+    public record PendingEvent(long id, String destination, String payload) {
+    }
+
+    /**
+     * Size of the outbox.
+     *
+     * @param size the number of events waiting.
+     * @param oldestCreatedAt when the oldest waiting event was stored, null if there is none.
+     */
+    public record OutboxStats(long size, Instant oldestCreatedAt) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.iam.service.infrastructure.persistence.jdbc.repositories;
+
+import com.iam.service.domain.model.aggregates.User;
+import com.iam.service.domain.model.entities.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * User batch JDBC repository.
+ * <p>
+ *     Inserts many new users and their roles with JDBC batches of {@code users.bulk.batch-size} rows,
+ *     instead of one insert per user and per role through JPA. With {@code rewriteBatchedStatements=true}
+ *     on the MySQL connection URL each batch is sent as a single multi-row insert.
+ * </p>
+ */
+@Repository
+public class UserBatchJdbcRepository {
+    private static final String INSERT_USER_SQL = "insert into users (created_at, updated_at, email, password, created_by) "
+            + "values (?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE_SQL = "insert into user_roles (user_id, role_id) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public UserBatchJdbcRepository(JdbcTemplate jdbcTemplate,
+                                   @Value("${users.bulk.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Insert new users and their roles in one transaction.
+     *
+     * @param users the users to insert; their roles must already exist.
+     * @return the generated ids, in the same order as the users.
+     */
+    @Transactional
+    public List<Long> insertAll(List<User> users) {
+        var now = new Timestamp(System.currentTimeMillis());
+        List<Long> ids = new ArrayList<>(users.size());
+        for (int from = 0; from < users.size(); from += batchSize) {
+            var chunk = users.subList(from, Math.min(from + batchSize, users.size()));
+            var keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_USER_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            var user = chunk.get(i);
+                            ps.setTimestamp(1, now);
+                            ps.setTimestamp(2, now);
+                            ps.setString(3, user.getEmail());
+                            ps.setString(4, user.getPassword());
+                            if (user.getCreatedBy() != null) {
+                                ps.setLong(5, user.getCreatedBy());
+                            } else {
+                                ps.setNull(5, Types.BIGINT);
+                            }
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder);
+            keyHolder.getKeyList().forEach(keys -> ids.add(((Number) keys.values().iterator().next()).longValue()));
+        }
+
+        List<long[]> userRoles = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            for (Role role : users.get(i).getRoles()) {
+                userRoles.add(new long[]{ids.get(i), role.getId()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, userRoles, batchSize, (ps, userRole) -> {
+            ps.setLong(1, userRole[0]);
+            ps.setLong(2, userRole[1]);
+        });
+        return ids;
+    }
+}
@@ -0,0 +1,96 @@
+package com.iam.service.infrastructure.persistence.jdbc.repositories;
+
+import com.iam.service.domain.model.valueobjects.Roles;
+import com.iam.service.domain.model.valueobjects.UserSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * User summary JDBC repository.
+ * <p>
+ *     Streams users and their roles with a single join read through a forward-only, read-only cursor.
+ *     Rows are fetched {@code users.stream.fetch-size} at a time (MySQL needs {@code useCursorFetch=true}
+ *     on the connection URL for this to use a server-side cursor), so memory use does not grow with the table.
+ *     Rows come ordered by user id, so the roles of one user are contiguous and each user is handed to the
+ *     consumer as soon as its last role has been read.
+ * </p>
+ */
+@Repository
+public class UserSummaryJdbcRepository {
+    private static final String STREAM_USERS_SQL = "select u.id, u.email, r.name from users u "
+            + "left join user_roles ur on ur.user_id = u.id "
+            + "left join roles r on r.id = ur.role_id "
+            + "where u.id > ? order by u.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public UserSummaryJdbcRepository(JdbcTemplate jdbcTemplate,
+                                     @Value("${users.stream.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Stream the users with a greater id than the given one, in id order.
+     *
+     * @param afterId only users with a greater id are streamed.
+     * @param consumer receives each user once all its roles have been read.
+     */
+    public void streamAfter(Long afterId, Consumer<UserSummary> consumer) {
+        var collector = new UserSummaryCollector(consumer);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STREAM_USERS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, afterId);
+            return statement;
+        }, collector);
+        collector.flush();
+    }
+
+    /**
+     * Folds consecutive rows of the same user into one {@link UserSummary}.
+     */
+    private static final class UserSummaryCollector implements RowCallbackHandler {
+        private final Consumer<UserSummary> consumer;
+        private Long id;
+        private String email;
+        private List<Roles> roles;
+
+        private UserSummaryCollector(Consumer<UserSummary> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowId = rs.getLong(1);
+            if (id == null || id != rowId) {
+                flush();
+                id = rowId;
+                email = rs.getString(2);
+                roles = new ArrayList<>(2);
+            }
+            String role = rs.getString(3);
+            if (role != null) {
+                roles.add(Roles.valueOf(role));
+            }
+        }
+
+        private void flush() {
+            if (id != null) {
+                consumer.accept(new UserSummary(id, email, List.copyOf(roles)));
+                id = null;
+            }
+        }
+    }
+}
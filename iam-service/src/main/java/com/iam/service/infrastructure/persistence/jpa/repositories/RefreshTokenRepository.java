@@ -0,0 +1,80 @@
+package com.iam.service.infrastructure.persistence.jpa.repositories;
+
+import com.iam.service.domain.model.entities.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Refresh token repository.
+ * <p>
+ *     This interface is used to interact with the database to perform CRUD operations on the RefreshToken entity.
+ *     Tokens are looked up by the SHA-256 hash of their value, which is unique and indexed.
+ * </p>
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Find a refresh token by the hash of its value.
+     *
+     * @param tokenHash the hex SHA-256 hash of the token.
+     * @return an optional containing the token if it exists, an empty optional otherwise.
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Mark a token as used, only if it has not been used yet.
+     *
+     * @param id the id of the token.
+     * @param usedAt when the token was used.
+     * @return 1 if this call marked the token, 0 if it had already been used.
+     */
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.usedAt = :usedAt where t.id = :id and t.usedAt is null")
+    int markUsed(@Param("id") Long id, @Param("usedAt") Instant usedAt);
+
+    /**
+     * Delete every token of a family.
+     *
+     * @param familyId the family of the tokens.
+     * @return the number of deleted tokens.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") String familyId);
+
+    /**
+     * Delete every token of a user.
+     *
+     * @param userId the id of the user.
+     * @return the number of deleted tokens.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Delete at most {@code batchSize} expired tokens.
+     * <p>
+     *     Bounded so that each cleanup transaction holds its locks briefly; call it until it deletes fewer rows than the batch size.
+     * </p>
+     *
+     * @param now tokens expired at or before this instant are deleted.
+     * @param batchSize the maximum number of tokens to delete.
+     * @return the number of deleted tokens.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "delete from refresh_tokens where expires_at <= :now limit :batchSize", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+}
@@ -1,9 +1,15 @@
 package com.iam.service.infrastructure.persistence.jpa.repositories;
 
 import com.iam.service.domain.model.aggregates.User;
+import com.iam.service.domain.model.valueobjects.Roles;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -31,4 +37,61 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if a user with the given email exists, false otherwise.
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Find which of the given emails are already used.
+     *
+     * @param emails the emails to check.
+     * @return the emails that belong to an existing user.
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findEmailsIn(@Param("emails") Collection<String> emails);
+
+    /**
+     * Find the users created by a manager that have a given role, in id order, starting after a given id.
+     * <p>
+     *     Filters on the (created_by, id) index so only the requested page is read; pass the last id of
+     *     the previous page as {@code afterId} (0 for the first page) to continue.
+     * </p>
+     *
+     * @param managerId the id of the manager who created the users.
+     * @param role the role the users must have.
+     * @param afterId only users with a greater id are returned.
+     * @param limit the maximum number of users to return.
+     * @return the matching users ordered by id.
+     */
+    @Query("select u from User u join u.roles r "
+            + "where u.createdBy = :managerId and r.name = :role and u.id > :afterId order by u.id")
+    List<User> findByCreatedByAndRoleAfter(@Param("managerId") Long managerId,
+                                           @Param("role") Roles role,
+                                           @Param("afterId") Long afterId,
+                                           Limit limit);
+
+    /**
+     * Find the ids of the users with a greater id than the given one, in id order.
+     *
+     * @param afterId only ids greater than this one are returned.
+     * @param limit the maximum number of ids to return.
+     * @return the user ids ordered by id.
+     */
+    @Query("select u.id from User u where u.id > :afterId order by u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Find the users with the given ids, fetching their roles in the same join.
+     *
+     * @param ids the ids of the users to find.
+     * @return the users ordered by id.
+     */
+    @Query("select distinct u from User u left join fetch u.roles where u.id in :ids order by u.id")
+    List<User> findAllWithRolesByIdIn(@Param("ids") List<Long> ids);
+
+    /**
+     * Find the users with a greater id than the given one, fetching their roles in the same join.
+     *
+     * @param afterId only users with a greater id are returned.
+     * @return the users ordered by id.
+     */
+    @Query("select distinct u from User u left join fetch u.roles where u.id > :afterId order by u.id")
+    List<User> findAllWithRolesAfter(@Param("afterId") Long afterId);
 }
@@ -1,12 +1,13 @@
 package com.iam.service.infrastructure.tokens.jwt.services;
 
 import com.iam.service.domain.model.aggregates.User;
+import com.iam.service.domain.model.valueobjects.UserSummary;
 import com.iam.service.infrastructure.persistence.jpa.repositories.UserRepository;
 import com.iam.service.infrastructure.tokens.jwt.BearerTokenService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
-import org.apache.commons.lang3.time.DateUtils;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
@@ -31,62 +33,93 @@ public class TokenServiceImpl implements BearerTokenService {
     @Value("${authorization.jwt.secret}")
     private String secret;
 
-    @Value(("${authorization.jwt.expiration.days}"))
-    private int expirationDays;
+    @Value("${authorization.jwt.expiration.access-token:15m}")
+    private Duration accessTokenExpiration;
 
     private final UserRepository userRepository;
 
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
     public TokenServiceImpl(UserRepository userRepository) {
         this.userRepository = userRepository;
     }
 
     /**
-     * Get the signing key.
-     *
-     * @return the {@link SecretKey} signing key
+     * Build the signing key and the parser once; both are immutable and thread-safe.
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     /**
-     * Build the token with default parameters and include user roles.
+     * Build the token with default parameters, looking up the user to include its id and roles.
      *
      * @param username the username
      * @return the token
      */
     private String buildTokenWithDefaultParameters(String username) {
-        var issuedAt = new Date();
-        var expiration = DateUtils.addDays(issuedAt, expirationDays);
-        var key = getSigningKey();
-
-        var userOptional = userRepository.findByEmail(username);
+        return userRepository.findByEmail(username)
+                .map(this::buildTokenForUser)
+                .orElseGet(() -> {
+                    var issuedAt = new Date();
+                    return Jwts.builder()
+                            .subject(username)
+                            .issuedAt(issuedAt)
+                            .expiration(expirationFrom(issuedAt))
+                            .signWith(signingKey)
+                            .compact();
+                });
+    }
 
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            List<String> roles = user.getRoles().stream()
+    /**
+     * Build the token with default parameters and include user id and roles.
+     *
+     * @param user the {@link User} user
+     * @return the token
+     */
+    private String buildTokenForUser(User user) {
+        List<String> roles = user.getRoles().stream()
                 .map(role -> role.getName().name())
                 .collect(Collectors.toList());
+        return buildToken(user.getId(), user.getEmail(), roles);
+    }
 
-            return Jwts.builder()
-                    .subject(username)
-                    .issuedAt(issuedAt)
-                    .expiration(expiration)
-                    .claim("id", user.getId())
-                    .claim("roles", roles)
-                    .signWith(key)
-                    .compact();
-        }
+    /**
+     * Build the token for a user id, email and role names.
+     *
+     * @param id the user id
+     * @param email the user email
+     * @param roles the role names
+     * @return the token
+     */
+    private String buildToken(Long id, String email, List<String> roles) {
+        var issuedAt = new Date();
+        var expiration = expirationFrom(issuedAt);
 
         return Jwts.builder()
-                .subject(username)
+                .subject(email)
                 .issuedAt(issuedAt)
                 .expiration(expiration)
-                .signWith(key)
+                .claim("id", id)
+                .claim("roles", roles)
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Access tokens are short-lived; clients renew them with a refresh token instead of the password.
+     *
+     * @param issuedAt when the token is issued
+     * @return when the token expires
+     */
+    private Date expirationFrom(Date issuedAt) {
+        return new Date(issuedAt.getTime() + accessTokenExpiration.toMillis());
+    }
+
     /**
      * Extract all claims from the token.
      *
@@ -94,9 +127,7 @@ public class TokenServiceImpl implements BearerTokenService {
      * @return the {@link Claims} claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -135,6 +166,28 @@ public class TokenServiceImpl implements BearerTokenService {
         return buildTokenWithDefaultParameters(username);
     }
 
+    /**
+     * Generate a token for an already loaded user.
+     *
+     * @param user the {@link User} user
+     * @return the generated token
+     */
+    @Override
+    public String generateToken(User user) {
+        return buildTokenForUser(user);
+    }
+
+    /**
+     * Generate a token for a user known only by its summary.
+     *
+     * @param user the {@link UserSummary} user summary
+     * @return the generated token
+     */
+    @Override
+    public String generateToken(UserSummary user) {
+        return buildToken(user.id(), user.email(), user.roles().stream().map(Enum::name).toList());
+    }
+
     /**
      * Extract the username from the token.
      *
@@ -155,10 +208,7 @@ public class TokenServiceImpl implements BearerTokenService {
     @Override
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            jwtParser.parseSignedClaims(token);
             LOGGER.info("Token is valid");
             return true;
         } catch (SignatureException e) {
@@ -0,0 +1,134 @@
+package com.iam.service.infrastructure.tokens.refresh.services;
+
+import com.iam.service.application.internal.outboundservices.tokens.RefreshTokenService;
+import com.iam.service.domain.model.entities.RefreshToken;
+import com.iam.service.infrastructure.persistence.jpa.repositories.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh Token Service Implementation.
+ * Refresh tokens are 256 random bits encoded in base64url. Only their SHA-256 hash is stored, so a leaked
+ * table cannot be replayed, and since the input is random a plain unsalted hash is enough: checking a token
+ * costs one digest and one indexed lookup, with no BCrypt involved.
+ * Expired tokens are deleted in bounded batches by a background job.
+ */
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+    private static final int TOKEN_BYTES = 32;
+    private static final String METRIC_PREFIX = "iam.refresh.tokens";
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration expiration;
+    private final int cleanupBatchSize;
+    private final Counter reuseDetections;
+    private final Counter cleanedUp;
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   @Value("${authorization.refresh-token.expiration:30d}") Duration expiration,
+                                   @Value("${authorization.refresh-token.cleanup.batch-size:1000}") int cleanupBatchSize,
+                                   MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expiration = expiration;
+        this.cleanupBatchSize = cleanupBatchSize;
+        this.reuseDetections = Counter.builder(METRIC_PREFIX + ".reused")
+                .description("Already used refresh tokens presented again; their family is revoked")
+                .register(meterRegistry);
+        this.cleanedUp = Counter.builder(METRIC_PREFIX + ".cleaned")
+                .description("Expired refresh tokens deleted by the cleanup job")
+                .register(meterRegistry);
+    }
+
+    // inherited javadoc
+    @Override
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    // inherited javadoc
+    @Override
+    public Optional<ImmutablePair<Long, String>> rotate(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return Optional.empty();
+        }
+        var now = Instant.now();
+        var stored = refreshTokenRepository.findByTokenHash(hash(refreshToken));
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        var token = stored.get();
+        if (token.isExpired(now)) {
+            return Optional.empty();
+        }
+        // the conditional update lets exactly one of two concurrent refreshes with the same token win
+        if (token.getUsedAt() != null || refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            reuseDetections.increment();
+            refreshTokenRepository.deleteByFamilyId(token.getFamilyId());
+            LOGGER.warn("Refresh token reuse detected for userId: {}, token family revoked", token.getUserId());
+            return Optional.empty();
+        }
+        return Optional.of(new ImmutablePair<>(token.getUserId(), issue(token.getUserId(), token.getFamilyId())));
+    }
+
+    // inherited javadoc
+    @Override
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Delete expired refresh tokens, {@code authorization.refresh-token.cleanup.batch-size} rows per transaction,
+     * until none are left.
+     */
+    @Scheduled(fixedDelayString = "${authorization.refresh-token.cleanup.interval-ms:3600000}",
+            initialDelayString = "${authorization.refresh-token.cleanup.interval-ms:3600000}")
+    public void deleteExpiredTokens() {
+        var now = Instant.now();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(now, cleanupBatchSize);
+            total += deleted;
+        } while (deleted == cleanupBatchSize);
+        cleanedUp.increment(total);
+        if (total > 0) {
+            LOGGER.info("Deleted {} expired refresh tokens", total);
+        }
+    }
+
+    private String issue(Long userId, String familyId) {
+        var bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        var value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(value), userId, familyId, Instant.now().plus(expiration)));
+        return value;
+    }
+
+    private static String hash(String value) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
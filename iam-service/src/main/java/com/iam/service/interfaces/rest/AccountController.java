@@ -1,5 +1,6 @@
 package com.iam.service.interfaces.rest;
 
+import com.iam.service.application.internal.outboundservices.hashing.HashingCapacityExceededException;
 import com.iam.service.application.internal.outboundservices.tokens.TokenService;
 import com.iam.service.domain.services.UserCommandService;
 import com.iam.service.interfaces.rest.resources.AuthenticatedUserResource;
@@ -14,6 +15,8 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -47,7 +50,8 @@ public class AccountController {
         @ApiResponse(responseCode = "200", description = "Password changed successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid password data"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
-        @ApiResponse(responseCode = "404", description = "User not found")
+        @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "503", description = "Password hashing capacity exceeded")
     })
     @PreAuthorize("authentication.principal.email == @userRepository.findById(#userId).get().email")
     public ResponseEntity<UserResource> changePassword(
@@ -63,6 +67,8 @@ public class AccountController {
 
             var userResource = UserResourceFromEntityAssembler.toResourceFromEntity(user.get());
             return ResponseEntity.ok(userResource);
+        } catch (HashingCapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -81,7 +87,8 @@ public class AccountController {
         @ApiResponse(responseCode = "200", description = "Email changed successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid email data or email already exists"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
-        @ApiResponse(responseCode = "404", description = "User not found")
+        @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "503", description = "Password hashing capacity exceeded")
     })
     @PreAuthorize("authentication.principal.email == @userRepository.findById(#userId).get().email")
     public ResponseEntity<AuthenticatedUserResource> changeEmail(
@@ -94,12 +101,14 @@ public class AccountController {
             if (user.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
-            var newToken = tokenService.generateToken(user.get().getEmail());
+            var newToken = tokenService.generateToken(user.get());
 
             var authenticatedUserResource = AuthenticatedUserResourceFromEntityAssembler
                 .toResourceFromEntity(user.get(), newToken);
 
             return ResponseEntity.ok(authenticatedUserResource);
+        } catch (HashingCapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -1,21 +1,29 @@
 package com.iam.service.interfaces.rest;
 
+import com.iam.service.application.internal.outboundservices.hashing.HashingCapacityExceededException;
+import com.iam.service.application.internal.throttling.SignInThrottledException;
 import com.iam.service.domain.services.UserCommandService;
 import com.iam.service.interfaces.rest.resources.AuthenticatedUserResource;
+import com.iam.service.interfaces.rest.resources.RefreshTokenResource;
 import com.iam.service.interfaces.rest.resources.SignInResource;
 import com.iam.service.interfaces.rest.resources.SignUpResource;
 import com.iam.service.interfaces.rest.resources.UserResource;
 import com.iam.service.interfaces.rest.transform.AuthenticatedUserResourceFromEntityAssembler;
+import com.iam.service.interfaces.rest.transform.RefreshTokenCommandFromResourceAssembler;
 import com.iam.service.interfaces.rest.transform.SignInCommandFromResourceAssembler;
 import com.iam.service.interfaces.rest.transform.SignUpCommandFromResourceAssembler;
 import com.iam.service.interfaces.rest.transform.UserResourceFromEntityAssembler;
+import com.iam.service.shared.interfaces.rest.resources.MessageResource;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -35,7 +43,8 @@ public class AuthenticationController {
     @Operation(summary = "Sign up a new user", description = "Sign up a new user with the provided username, password, and roles.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "User created successfully."),
-            @ApiResponse(responseCode = "400", description = "Bad request.")
+            @ApiResponse(responseCode = "400", description = "Bad request."),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent sign-ins or sign-ups, retry later.")
     })
     public ResponseEntity<UserResource> signUp(@RequestBody SignUpResource resource) {
         var signUpCommand = SignUpCommandFromResourceAssembler.toCommandFromResource(resource);
@@ -50,14 +59,58 @@ public class AuthenticationController {
     @Operation(summary = "Sign in a user", description = "Sign in a user with the provided username and password.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User signed in successfully."),
-            @ApiResponse(responseCode = "404", description = "User not found.")
+            @ApiResponse(responseCode = "404", description = "User not found."),
+            @ApiResponse(responseCode = "429", description = "Too many failed sign-ins for the account or the client address, retry after the given delay."),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent sign-ins or sign-ups, retry later.")
     })
-    public ResponseEntity<AuthenticatedUserResource> signIn(@RequestBody SignInResource resource) {
-        var signInCommand = SignInCommandFromResourceAssembler.toCommandFromResource(resource);
+    public ResponseEntity<AuthenticatedUserResource> signIn(@RequestBody SignInResource resource, HttpServletRequest request) {
+        var signInCommand = SignInCommandFromResourceAssembler.toCommandFromResource(resource, clientAddress(request));
         var authenticatedUserResult = userCommandService.handle(signInCommand);
         if (authenticatedUserResult.isEmpty()) return ResponseEntity.notFound().build();
         var authenticatedUser = authenticatedUserResult.get();
-        var authenticatedUserResource = AuthenticatedUserResourceFromEntityAssembler.toResourceFromEntity(authenticatedUser.left, authenticatedUser.right);
+        var authenticatedUserResource = AuthenticatedUserResourceFromEntityAssembler.toResourceFromSummary(authenticatedUser.left, authenticatedUser.middle, authenticatedUser.right);
         return ResponseEntity.ok(authenticatedUserResource);
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh the tokens of a user", description = "Exchange a refresh token for a new access token and the next refresh token. Each refresh token can be used once.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed successfully."),
+            @ApiResponse(responseCode = "401", description = "Refresh token unknown, expired or already used.")
+    })
+    public ResponseEntity<AuthenticatedUserResource> refresh(@RequestBody RefreshTokenResource resource) {
+        var refreshTokenCommand = RefreshTokenCommandFromResourceAssembler.toCommandFromResource(resource);
+        var authenticatedUserResult = userCommandService.handle(refreshTokenCommand);
+        if (authenticatedUserResult.isEmpty()) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        var authenticatedUser = authenticatedUserResult.get();
+        var authenticatedUserResource = AuthenticatedUserResourceFromEntityAssembler.toResourceFromEntity(authenticatedUser.left, authenticatedUser.middle, authenticatedUser.right);
+        return ResponseEntity.ok(authenticatedUserResource);
+    }
+
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<MessageResource> handleHashingCapacityExceeded(HashingCapacityExceededException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResource(e.getMessage()));
+    }
+
+    @ExceptionHandler(SignInThrottledException.class)
+    public ResponseEntity<MessageResource> handleSignInThrottled(SignInThrottledException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(new MessageResource(e.getMessage()));
+    }
+
+    /**
+     * The gateway appends the address it received the request from to X-Forwarded-For, so the last
+     * entry is the only one a client cannot forge.
+     */
+    private String clientAddress(HttpServletRequest request) {
+        var forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            var addresses = forwardedFor.split(",");
+            return addresses[addresses.length - 1].trim();
+        }
+        return request.getRemoteAddr();
+    }
 }
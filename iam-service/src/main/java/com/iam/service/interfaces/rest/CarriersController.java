@@ -1,20 +1,32 @@
 package com.iam.service.interfaces.rest;
 
+import com.iam.service.application.internal.outboundservices.hashing.HashingCapacityExceededException;
+import com.iam.service.domain.model.commands.RegisterCarrierCommand;
+import com.iam.service.domain.model.commands.RegisterCarriersCommand;
+import com.iam.service.domain.model.valueobjects.CarrierRegistrationResult;
 import com.iam.service.domain.services.UserCommandService;
+import com.iam.service.interfaces.rest.resources.CarrierRegistrationResultResource;
 import com.iam.service.interfaces.rest.resources.RegisterCarrierResource;
+import com.iam.service.interfaces.rest.resources.RegisterCarriersResultResource;
 import com.iam.service.interfaces.rest.resources.UserResource;
+import com.iam.service.interfaces.rest.transform.CarrierRegistrationResultResourceFromValueAssembler;
 import com.iam.service.interfaces.rest.transform.RegisterCarrierCommandFromResourceAssembler;
+import com.iam.service.interfaces.rest.transform.RegisterCarrierResourceListFromCsvAssembler;
 import com.iam.service.interfaces.rest.transform.UserResourceFromEntityAssembler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,6 +36,8 @@ import java.util.Map;
 @RequestMapping(value = "/api/v1/carriers", produces = MediaType.APPLICATION_JSON_VALUE)
 @Tag(name = "Carriers", description = "Carrier Management Endpoints")
 public class CarriersController {
+    private static final int MAX_BULK_SIZE = 1000;
+    private static final String TEXT_CSV_VALUE = "text/csv";
 
     private final UserCommandService userCommandService;
 
@@ -44,45 +58,18 @@ public class CarriersController {
             @ApiResponse(responseCode = "201", description = "Carrier registered successfully"),
             @ApiResponse(responseCode = "400", description = "Bad request - Invalid data or email already exists"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Not logged in"),
-            @ApiResponse(responseCode = "403", description = "Forbidden - Not a manager")
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not a manager"),
+            @ApiResponse(responseCode = "503", description = "Service busy - Password hashing capacity exceeded")
     })
     public ResponseEntity<?> registerCarrier(
             @RequestBody RegisterCarrierResource resource,
             HttpServletRequest request) {
 
-        // Get manager ID from header set by gateway
-        String userIdHeader = request.getHeader("X-User-Id");
-        if (userIdHeader == null || userIdHeader.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of(
-                            "message", "Unauthorized",
-                            "error", "User not authenticated",
-                            "errorCode", "NOT_AUTHENTICATED"
-                    ));
-        }
-
-        Long managerId;
-        try {
-            managerId = Long.valueOf(userIdHeader);
-        } catch (NumberFormatException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of(
-                            "message", "Bad request",
-                            "error", "Invalid user ID",
-                            "errorCode", "INVALID_USER_ID"
-                    ));
-        }
-
-        // Verify user has manager role
-        String rolesHeader = request.getHeader("X-User-Roles");
-        if (rolesHeader == null || !rolesHeader.contains("MANAGER")) {
-            return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                    .body(Map.of(
-                            "message", "Access denied",
-                            "error", "Manager role required for this operation",
-                            "errorCode", "REQUIRES_MANAGER_ROLE"
-                    ));
+        var managerCheck = checkManager(request);
+        if (managerCheck != null) {
+            return managerCheck;
         }
+        Long managerId = Long.valueOf(request.getHeader("X-User-Id"));
 
         try {
             var command = RegisterCarrierCommandFromResourceAssembler.toCommandFromResource(resource, managerId);
@@ -99,6 +86,14 @@ public class CarriersController {
 
             var carrierResource = UserResourceFromEntityAssembler.toResourceFromEntity(carrier.get());
             return ResponseEntity.status(HttpStatus.CREATED).body(carrierResource);
+        } catch (HashingCapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of(
+                            "message", "Error registering carrier",
+                            "error", "Service busy, try again later",
+                            "errorCode", "SERVICE_BUSY"
+                    ));
         } catch (RuntimeException e) {
             if (e.getMessage().contains("Email already exists")) {
                 return ResponseEntity.status(HttpStatus.CONFLICT)
@@ -124,4 +119,166 @@ public class CarriersController {
             }
         }
     }
+
+    /**
+     * Register several carriers at once from a JSON array.
+     *
+     * @param resources The carriers data
+     * @param request The HTTP request containing X-User-Id header with the manager's ID
+     * @return ResponseEntity with the result of each carrier or an error
+     */
+    @PostMapping(value = "/sign-up/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Register carriers in bulk", description = "Allows a manager to register up to 1000 carriers in one request; the result of each carrier is reported")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Carriers processed, see the result of each one"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Empty or too many carriers"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Not logged in"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not a manager"),
+            @ApiResponse(responseCode = "409", description = "Conflict - An email was registered concurrently, nothing was created"),
+            @ApiResponse(responseCode = "503", description = "Service busy - Password hashing capacity exceeded")
+    })
+    public ResponseEntity<?> registerCarriers(
+            @RequestBody List<RegisterCarrierResource> resources,
+            HttpServletRequest request) {
+        return registerCarriersInBulk(resources, request);
+    }
+
+    /**
+     * Register several carriers at once from a CSV document.
+     * <p>
+     *     Each line holds {@code email,password[,roles]} with roles separated by {@code ;}; an optional first line
+     *     starting with {@code email} is treated as a header.
+     * </p>
+     *
+     * @param csv The carriers data
+     * @param request The HTTP request containing X-User-Id header with the manager's ID
+     * @return ResponseEntity with the result of each carrier or an error
+     */
+    @PostMapping(value = "/sign-up/bulk", consumes = TEXT_CSV_VALUE)
+    @Operation(summary = "Register carriers in bulk from CSV", description = "Allows a manager to register up to 1000 carriers from a CSV document; the result of each carrier is reported")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Carriers processed, see the result of each one"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Malformed CSV, empty or too many carriers"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Not logged in"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - Not a manager"),
+            @ApiResponse(responseCode = "409", description = "Conflict - An email was registered concurrently, nothing was created"),
+            @ApiResponse(responseCode = "503", description = "Service busy - Password hashing capacity exceeded")
+    })
+    public ResponseEntity<?> registerCarriersFromCsv(
+            @RequestBody String csv,
+            HttpServletRequest request) {
+        List<RegisterCarrierResource> resources;
+        try {
+            resources = RegisterCarrierResourceListFromCsvAssembler.toResourceListFromCsv(csv);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of(
+                            "message", "Error registering carriers",
+                            "error", e.getMessage(),
+                            "errorCode", "INVALID_CSV"
+                    ));
+        }
+        return registerCarriersInBulk(resources, request);
+    }
+
+    private ResponseEntity<?> registerCarriersInBulk(List<RegisterCarrierResource> resources, HttpServletRequest request) {
+        var managerCheck = checkManager(request);
+        if (managerCheck != null) {
+            return managerCheck;
+        }
+        Long managerId = Long.valueOf(request.getHeader("X-User-Id"));
+
+        if (resources == null || resources.isEmpty() || resources.size() > MAX_BULK_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of(
+                            "message", "Error registering carriers",
+                            "error", "Between 1 and " + MAX_BULK_SIZE + " carriers are required",
+                            "errorCode", "INVALID_BATCH_SIZE"
+                    ));
+        }
+
+        // rows with unknown role names never reach the command; they are reported here
+        var results = new CarrierRegistrationResultResource[resources.size()];
+        var commands = new ArrayList<RegisterCarrierCommand>();
+        var commandRows = new ArrayList<Integer>();
+        for (int row = 0; row < resources.size(); row++) {
+            var resource = resources.get(row);
+            try {
+                commands.add(RegisterCarrierCommandFromResourceAssembler.toCommandFromResource(resource, managerId));
+                commandRows.add(row);
+            } catch (IllegalArgumentException e) {
+                results[row] = new CarrierRegistrationResultResource(row, resource.email(), null, "FAILED", "ROLE_NOT_FOUND");
+            }
+        }
+
+        try {
+            var registrations = commands.isEmpty() ? List.<CarrierRegistrationResult>of()
+                    : userCommandService.handle(new RegisterCarriersCommand(managerId, commands));
+            for (var registration : registrations) {
+                int row = commandRows.get(registration.row());
+                results[row] = CarrierRegistrationResultResourceFromValueAssembler.toResourceFromValue(registration, row);
+            }
+        } catch (HashingCapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of(
+                            "message", "Error registering carriers",
+                            "error", "Service busy, try again later",
+                            "errorCode", "SERVICE_BUSY"
+                    ));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of(
+                            "message", "Failed to register carriers",
+                            "error", e.getMessage(),
+                            "errorCode", "EMAIL_EXISTS"
+                    ));
+        }
+
+        var resultList = Arrays.asList(results);
+        int created = (int) resultList.stream().filter(result -> result.userId() != null).count();
+        return ResponseEntity.ok(new RegisterCarriersResultResource(created, resultList.size() - created, resultList));
+    }
+
+    /**
+     * Checks the headers set by the gateway identify a manager.
+     *
+     * @param request The HTTP request
+     * @return the error response to return, or null if the caller is a manager
+     */
+    private ResponseEntity<?> checkManager(HttpServletRequest request) {
+        // Get manager ID from header set by gateway
+        String userIdHeader = request.getHeader("X-User-Id");
+        if (userIdHeader == null || userIdHeader.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of(
+                            "message", "Unauthorized",
+                            "error", "User not authenticated",
+                            "errorCode", "NOT_AUTHENTICATED"
+                    ));
+        }
+
+        try {
+            Long.valueOf(userIdHeader);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of(
+                            "message", "Bad request",
+                            "error", "Invalid user ID",
+                            "errorCode", "INVALID_USER_ID"
+                    ));
+        }
+
+        // Verify user has manager role
+        String rolesHeader = request.getHeader("X-User-Roles");
+        if (rolesHeader == null || !rolesHeader.contains("MANAGER")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of(
+                            "message", "Access denied",
+                            "error", "Manager role required for this operation",
+                            "errorCode", "REQUIRES_MANAGER_ROLE"
+                    ));
+        }
+        return null;
+    }
 }
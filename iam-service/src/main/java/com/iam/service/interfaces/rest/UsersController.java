@@ -3,10 +3,13 @@ package com.iam.service.interfaces.rest;
 import com.iam.service.domain.model.queries.GetAllUsersQuery;
 import com.iam.service.domain.model.queries.GetUserByIdQuery;
 import com.iam.service.domain.model.queries.GetCarriersByManagerQuery;
+import com.iam.service.domain.model.queries.StreamAllUsersQuery;
 import com.iam.service.domain.services.UserCommandService;
 import com.iam.service.domain.services.UserQueryService;
 import com.iam.service.interfaces.rest.resources.UserResource;
 import com.iam.service.interfaces.rest.transform.UserResourceFromEntityAssembler;
+import com.iam.service.interfaces.rest.transform.UserResourceFromSummaryAssembler;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -14,7 +17,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -27,35 +33,83 @@ import java.util.List;
 @RequestMapping(value = "/api/v1/users", produces = MediaType.APPLICATION_JSON_VALUE)
 @Tag(name = "Users", description = "Available User Endpoints")
 public class UsersController {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String NEXT_AFTER_HEADER = "X-Next-After";
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final UserQueryService userQueryService;
     private final UserCommandService userCommandService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructor.
      *
      * @param userQueryService The user query service.
      * @param userCommandService The user command service.
+     * @param objectMapper The object mapper used to write streamed users.
      */
-    public UsersController(UserQueryService userQueryService, UserCommandService userCommandService) {
+    public UsersController(UserQueryService userQueryService, UserCommandService userCommandService,
+                           ObjectMapper objectMapper) {
         this.userQueryService = userQueryService;
         this.userCommandService = userCommandService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Get all users.
+     * <p>
+     *     Users are returned in id order. When {@code limit} is given only that many are returned and,
+     *     if there may be more, the {@code X-Next-After} header holds the value to pass as {@code after}
+     *     to get the next page.
+     * </p>
      *
+     * @param after Only users with a greater id are returned.
+     * @param limit The maximum number of users to return.
      * @return The list of users.
      */
     @GetMapping
     @Operation(summary = "Get all users", description = "Get all the users available in the system.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Users retrieved successfully."),
+            @ApiResponse(responseCode = "400", description = "Invalid limit."),
             @ApiResponse(responseCode = "401", description = "Unauthorized.")})
-    public ResponseEntity<List<UserResource>> getAllUsers() {
-        var getAllUsersQuery = new GetAllUsersQuery();
+    public ResponseEntity<List<UserResource>> getAllUsers(@RequestParam(required = false) Long after,
+                                                          @RequestParam(required = false) Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            return ResponseEntity.badRequest().build();
+        }
+        var getAllUsersQuery = new GetAllUsersQuery(after, limit);
         var users = userQueryService.handle(getAllUsersQuery);
         var userResources = users.stream().map(UserResourceFromEntityAssembler::toResourceFromEntity).toList();
-        return ResponseEntity.ok(userResources);
+        return page(userResources, limit);
+    }
+
+    /**
+     * Stream all users.
+     * <p>
+     *     Writes one JSON user per line, in id order, while the users are read from the database,
+     *     so the response size is not bounded by the memory of the service.
+     * </p>
+     *
+     * @param after Only users with a greater id are streamed.
+     * @return The stream of users.
+     */
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all users", description = "Stream all the users available in the system as newline-delimited JSON.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users streamed successfully."),
+            @ApiResponse(responseCode = "401", description = "Unauthorized.")})
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(@RequestParam(required = false) Long after) {
+        var streamAllUsersQuery = new StreamAllUsersQuery(after);
+        StreamingResponseBody body = outputStream -> userQueryService.handle(streamAllUsersQuery, user -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(UserResourceFromSummaryAssembler.toResourceFromSummary(user)));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(body);
     }
 
     /**
@@ -82,22 +136,35 @@ public class UsersController {
 
     /**
      * Get all carriers for a manager.
+     * <p>
+     *     Carriers are returned in id order. When {@code limit} is given only that many are returned and,
+     *     if there may be more, the {@code X-Next-After} header holds the value to pass as {@code after}
+     *     to get the next page.
+     * </p>
      *
      * @param managerId The id of the manager to get carriers for.
+     * @param after Only carriers with a greater id are returned.
+     * @param limit The maximum number of carriers to return.
      * @return The list of carriers.
      */
     @GetMapping(value = "/managers/{managerId}/carriers")
     @Operation(summary = "Get all carriers for a manager", description = "Get all carriers created by or associated with the specified manager.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Carriers retrieved successfully."),
+            @ApiResponse(responseCode = "400", description = "Invalid limit."),
             @ApiResponse(responseCode = "401", description = "Unauthorized.")})
-    public ResponseEntity<List<UserResource>> getCarriersByManager(@PathVariable Long managerId) {
-        var getCarriersByManagerQuery = new GetCarriersByManagerQuery(managerId);
+    public ResponseEntity<List<UserResource>> getCarriersByManager(@PathVariable Long managerId,
+                                                                   @RequestParam(required = false) Long after,
+                                                                   @RequestParam(required = false) Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) {
+            return ResponseEntity.badRequest().build();
+        }
+        var getCarriersByManagerQuery = new GetCarriersByManagerQuery(managerId, after, limit);
         var carriers = userQueryService.handle(getCarriersByManagerQuery);
         var carrierResources = carriers.stream()
                 .map(UserResourceFromEntityAssembler::toResourceFromEntity)
                 .toList();
-        return ResponseEntity.ok(carrierResources);
+        return page(carrierResources, limit);
     }
 
     /**
@@ -125,4 +192,20 @@ public class UsersController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    /**
+     * Builds the response for one page of users, adding the {@code X-Next-After} header when the page is full.
+     *
+     * @param userResources The users of the page, in id order.
+     * @param limit The requested page size, or null when no paging was requested.
+     * @return The response.
+     */
+    private ResponseEntity<List<UserResource>> page(List<UserResource> userResources, Integer limit) {
+        if (limit != null && userResources.size() == limit) {
+            return ResponseEntity.ok()
+                    .header(NEXT_AFTER_HEADER, String.valueOf(userResources.get(userResources.size() - 1).id()))
+                    .body(userResources);
+        }
+        return ResponseEntity.ok(userResources);
+    }
 }
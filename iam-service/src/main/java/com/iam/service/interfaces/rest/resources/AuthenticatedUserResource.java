@@ -2,6 +2,10 @@ package com.iam.service.interfaces.rest.resources;
 
 /**
  * Authenticated user resource.
+ * <p>
+ *     {@code token} is the short-lived access token; {@code refreshToken}, when present, renews it
+ *     through {@code POST /api/v1/authentication/refresh}.
+ * </p>
  */
-public record AuthenticatedUserResource(Long id, String email, String token) {
+public record AuthenticatedUserResource(Long id, String email, String token, String refreshToken) {
 }
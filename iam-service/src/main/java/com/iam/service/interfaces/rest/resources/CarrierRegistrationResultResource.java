@@ -0,0 +1,13 @@
+package com.iam.service.interfaces.rest.resources;
+
+/**
+ * Resource for the result of registering one carrier of a bulk registration.
+ *
+ * @param row the position of the carrier in the request, starting at 0
+ * @param email the email of the carrier
+ * @param userId the id of the created user, null if the carrier was not registered
+ * @param status CREATED or FAILED
+ * @param errorCode why the carrier was not registered, null if it was
+ */
+public record CarrierRegistrationResultResource(int row, String email, Long userId, String status, String errorCode) {
+}
@@ -0,0 +1,7 @@
+package com.iam.service.interfaces.rest.resources;
+
+/**
+ * Refresh token resource.
+ */
+public record RefreshTokenResource(String refreshToken) {
+}
@@ -0,0 +1,13 @@
+package com.iam.service.interfaces.rest.resources;
+
+import java.util.List;
+
+/**
+ * Resource for the outcome of a bulk carrier registration.
+ *
+ * @param created the number of carriers registered
+ * @param failed the number of carriers that were not registered
+ * @param results the result of each carrier, in request order
+ */
+public record RegisterCarriersResultResource(int created, int failed, List<CarrierRegistrationResultResource> results) {
+}
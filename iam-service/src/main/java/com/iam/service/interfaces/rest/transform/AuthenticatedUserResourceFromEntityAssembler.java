@@ -1,6 +1,7 @@
 package com.iam.service.interfaces.rest.transform;
 
 import com.iam.service.domain.model.aggregates.User;
+import com.iam.service.domain.model.valueobjects.UserSummary;
 import com.iam.service.interfaces.rest.resources.AuthenticatedUserResource;
 
 /**
@@ -18,9 +19,38 @@ public class AuthenticatedUserResourceFromEntityAssembler {
      * @return The AuthenticatedUserResource.
      */
     public static AuthenticatedUserResource toResourceFromEntity(User entity, String token) {
+        return toResourceFromEntity(entity, token, null);
+    }
+
+    /**
+     * Converts a User entity to an AuthenticatedUserResource with a refresh token.
+     *
+     * @param entity The User entity to convert.
+     * @param token The access token to include in the AuthenticatedUserResource.
+     * @param refreshToken The refresh token to include in the AuthenticatedUserResource.
+     * @return The AuthenticatedUserResource.
+     */
+    public static AuthenticatedUserResource toResourceFromEntity(User entity, String token, String refreshToken) {
         return new AuthenticatedUserResource(
                 entity.getId(),
                 entity.getEmail(),
-                token);
+                token,
+                refreshToken);
+    }
+
+    /**
+     * Converts a UserSummary to an AuthenticatedUserResource with a refresh token.
+     *
+     * @param summary The UserSummary to convert.
+     * @param token The access token to include in the AuthenticatedUserResource.
+     * @param refreshToken The refresh token to include in the AuthenticatedUserResource.
+     * @return The AuthenticatedUserResource.
+     */
+    public static AuthenticatedUserResource toResourceFromSummary(UserSummary summary, String token, String refreshToken) {
+        return new AuthenticatedUserResource(
+                summary.id(),
+                summary.email(),
+                token,
+                refreshToken);
     }
 }
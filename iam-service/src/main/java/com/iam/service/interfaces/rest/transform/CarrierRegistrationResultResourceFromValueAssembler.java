@@ -0,0 +1,26 @@
+package com.iam.service.interfaces.rest.transform;
+
+import com.iam.service.domain.model.valueobjects.CarrierRegistrationResult;
+import com.iam.service.interfaces.rest.resources.CarrierRegistrationResultResource;
+
+/**
+ * Assembler to convert a CarrierRegistrationResult to a CarrierRegistrationResultResource.
+ */
+public class CarrierRegistrationResultResourceFromValueAssembler {
+
+    /**
+     * Converts a CarrierRegistrationResult to a CarrierRegistrationResultResource.
+     *
+     * @param result The result to convert
+     * @param row The position of the carrier in the request
+     * @return The CarrierRegistrationResultResource
+     */
+    public static CarrierRegistrationResultResource toResourceFromValue(CarrierRegistrationResult result, int row) {
+        return new CarrierRegistrationResultResource(
+                row,
+                result.email(),
+                result.userId(),
+                result.isCreated() ? "CREATED" : "FAILED",
+                result.errorCode());
+    }
+}
@@ -0,0 +1,22 @@
+package com.iam.service.interfaces.rest.transform;
+
+import com.iam.service.domain.model.commands.RefreshTokenCommand;
+import com.iam.service.interfaces.rest.resources.RefreshTokenResource;
+
+/**
+ * Assembler to convert a RefreshTokenResource to a RefreshTokenCommand.
+ * <p>
+ *     This class is used to convert a RefreshTokenResource to a RefreshTokenCommand.
+ * </p>
+ */
+public class RefreshTokenCommandFromResourceAssembler {
+    /**
+     * Converts a RefreshTokenResource to a RefreshTokenCommand.
+     *
+     * @param resource The RefreshTokenResource to convert.
+     * @return The RefreshTokenCommand.
+     */
+    public static RefreshTokenCommand toCommandFromResource(RefreshTokenResource resource) {
+        return new RefreshTokenCommand(resource.refreshToken());
+    }
+}
@@ -0,0 +1,82 @@
+package com.iam.service.interfaces.rest.transform;
+
+import com.iam.service.interfaces.rest.resources.RegisterCarrierResource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Assembler to convert a CSV document to a list of RegisterCarrierResource.
+ * <p>
+ *     Each line holds {@code email,password[,roles]}, where roles are separated by {@code ;}.
+ *     Fields may be quoted with {@code "} (a doubled quote inside a quoted field stands for one quote).
+ *     Blank lines are skipped, and a first line starting with {@code email} is treated as a header.
+ * </p>
+ */
+public class RegisterCarrierResourceListFromCsvAssembler {
+
+    /**
+     * Converts a CSV document to a list of RegisterCarrierResource.
+     *
+     * @param csv The CSV document
+     * @return The resources, one per data line
+     * @throws IllegalArgumentException if a line has fewer than two fields or an unterminated quote
+     */
+    public static List<RegisterCarrierResource> toResourceListFromCsv(String csv) {
+        var resources = new ArrayList<RegisterCarrierResource>();
+        var lines = csv.split("\\r?\\n");
+        boolean firstLine = true;
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].isBlank()) {
+                continue;
+            }
+            var fields = parseLine(lines[i], i + 1);
+            if (firstLine) {
+                firstLine = false;
+                if (fields.get(0).equalsIgnoreCase("email")) {
+                    continue;
+                }
+            }
+            if (fields.size() < 2) {
+                throw new IllegalArgumentException("Line " + (i + 1) + " must contain at least email and password");
+            }
+            var roles = fields.size() > 2 && !fields.get(2).isBlank()
+                    ? Arrays.stream(fields.get(2).split(";")).map(String::trim).filter(role -> !role.isEmpty()).toList()
+                    : List.<String>of();
+            resources.add(new RegisterCarrierResource(fields.get(0), fields.get(1), roles));
+        }
+        return resources;
+    }
+
+    private static List<String> parseLine(String line, int lineNumber) {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Line " + lineNumber + " has an unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
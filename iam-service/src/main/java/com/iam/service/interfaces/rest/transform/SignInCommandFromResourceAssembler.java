@@ -14,11 +14,13 @@ public class SignInCommandFromResourceAssembler {
      * Converts a SignInResource to a SignInCommand.
      *
      * @param resource The SignInResource to convert.
+     * @param clientAddress The address of the client signing in.
      * @return The SignInCommand.
      */
-    public static SignInCommand toCommandFromResource(SignInResource resource) {
+    public static SignInCommand toCommandFromResource(SignInResource resource, String clientAddress) {
         return new SignInCommand(
                 resource.email(),
-                resource.password());
+                resource.password(),
+                clientAddress);
     }
 }
@@ -0,0 +1,26 @@
+package com.iam.service.interfaces.rest.transform;
+
+import com.iam.service.domain.model.valueobjects.Roles;
+import com.iam.service.domain.model.valueobjects.UserSummary;
+import com.iam.service.interfaces.rest.resources.UserResource;
+
+/**
+ * Assembler to convert a UserSummary to a UserResource.
+ * <p>
+ *     This class is used to convert a UserSummary to a UserResource.
+ * </p>
+ */
+public class UserResourceFromSummaryAssembler {
+    /**
+     * Converts a UserSummary to a UserResource.
+     *
+     * @param summary The UserSummary to convert.
+     * @return The UserResource.
+     */
+    public static UserResource toResourceFromSummary(UserSummary summary) {
+        return new UserResource(
+                summary.id(),
+                summary.email(),
+                summary.roles().stream().map(Roles::name).toList());
+    }
+}
@@ -0,0 +1,101 @@
+package com.iam.service.application.internal.throttling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Drives the throttle on a virtual clock: 5 free failures per email, 20 per address, one-minute
+ * slots over a fifteen-minute window, and a delay starting at one second.
+ */
+class SignInThrottleTest {
+
+    private static final String EMAIL = "driver@example.com";
+    private static final String ADDRESS = "203.0.113.7";
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.DAYS.toMillis(1));
+    private final SignInThrottle throttle = throttle(100);
+
+    @Test
+    void failuresUpToTheAllowanceAreNotDelayed() {
+        fail(EMAIL, 5);
+        assertDoesNotThrow(() -> throttle.check(EMAIL, ADDRESS));
+    }
+
+    @Test
+    void delayStartsAtBaseAndDoubles() {
+        fail(EMAIL, 6);
+        assertEquals(1, retryAfterSeconds(EMAIL));
+        clock.addAndGet(1_000);
+        assertDoesNotThrow(() -> throttle.check(EMAIL, ADDRESS));
+
+        fail(EMAIL, 1);
+        assertEquals(2, retryAfterSeconds(EMAIL));
+        fail(EMAIL, 1);
+        assertEquals(4, retryAfterSeconds(EMAIL));
+    }
+
+    @Test
+    void failuresLeaveTheWindow() {
+        fail(EMAIL, 6);
+        clock.addAndGet(TimeUnit.MINUTES.toMillis(16));
+        fail(EMAIL, 5);
+        assertDoesNotThrow(() -> throttle.check(EMAIL, ADDRESS));
+    }
+
+    @Test
+    void counterDropsSlotsOutsideTheWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(15);
+        counter.increment(0, 0);
+        counter.increment(0, 0);
+        counter.increment(10, 10);
+        assertEquals(3, counter.sum(14));
+        assertEquals(1, counter.sum(15));
+        counter.increment(15, 15);
+        assertEquals(2, counter.sum(15));
+        assertEquals(0, counter.sum(30));
+    }
+
+    @Test
+    void successForgetsTheEmailButNotTheAddress() {
+        fail(EMAIL, 21);
+        throttle.recordSuccess(EMAIL);
+        SignInThrottledException rejected = assertThrows(SignInThrottledException.class, () -> throttle.check(EMAIL, ADDRESS));
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> throttle.check(EMAIL, null));
+    }
+
+    @Test
+    void leastRecentlyUsedEmailIsDroppedPastMaxTracked() {
+        SignInThrottle bounded = throttle(2);
+        for (String email : new String[] {"a@example.com", "b@example.com", "c@example.com"}) {
+            for (int i = 0; i < 6; i++) {
+                bounded.recordFailure(email, null);
+            }
+        }
+        assertDoesNotThrow(() -> bounded.check("a@example.com", null));
+        assertThrows(SignInThrottledException.class, () -> bounded.check("c@example.com", null));
+    }
+
+    private SignInThrottle throttle(int maxTracked) {
+        return new SignInThrottle(Duration.ofMinutes(15), 15, 5, 20, Duration.ofSeconds(1), Duration.ofMinutes(15),
+            maxTracked, clock::get, new SimpleMeterRegistry());
+    }
+
+    private void fail(String email, int times) {
+        for (int i = 0; i < times; i++) {
+            throttle.recordFailure(email, ADDRESS);
+        }
+    }
+
+    private long retryAfterSeconds(String email) {
+        return assertThrows(SignInThrottledException.class, () -> throttle.check(email, ADDRESS)).getRetryAfterSeconds();
+    }
+}
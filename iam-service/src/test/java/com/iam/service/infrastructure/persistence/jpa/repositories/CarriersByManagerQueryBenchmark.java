@@ -0,0 +1,154 @@
+package com.iam.service.infrastructure.persistence.jpa.repositories;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmark of the carriers-by-manager lookup against a 100k-user MySQL dataset.
+ * <p>
+ *     Compares the former approach (load every user with its roles, filter in memory) with the
+ *     SQL issued by {@link UserRepository#findByCreatedByAndRoleAfter} on the (created_by, id) index,
+ *     both for a full listing and for a 50-row keyset page. It builds its own schema in a scratch
+ *     database, so it never touches iam_db. Run it manually:
+ * </p>
+ * <pre>
+ *     java -cp ... CarriersByManagerQueryBenchmark \
+ *         -Dbenchmark.jdbc.url=jdbc:mysql://localhost:3306/iam_benchmark?createDatabaseIfNotExist=true \
+ *         -Dbenchmark.jdbc.user=root -Dbenchmark.jdbc.password=...
+ * </pre>
+ */
+public class CarriersByManagerQueryBenchmark {
+    private static final int USERS = 100_000;
+    private static final int MANAGERS = 500;
+    private static final int ITERATIONS = 20;
+    private static final int PAGE_SIZE = 50;
+
+    private static final String LOAD_ALL_SQL = "select u.id, u.email, u.created_by, r.name from users u "
+            + "left join user_roles ur on ur.user_id = u.id left join roles r on r.id = ur.role_id";
+    private static final String CARRIERS_SQL = "select u.id, u.email from users u "
+            + "join user_roles ur on ur.user_id = u.id join roles r on r.id = ur.role_id "
+            + "where u.created_by = ? and r.name = 'ROLE_CARRIER' and u.id > ? order by u.id";
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("benchmark.jdbc.url",
+                "jdbc:mysql://localhost:3306/iam_benchmark?createDatabaseIfNotExist=true&rewriteBatchedStatements=true");
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("benchmark.jdbc.user", "root"),
+                System.getProperty("benchmark.jdbc.password", ""))) {
+            seed(connection);
+            long managerId = 1 + ThreadLocalRandom.current().nextInt(MANAGERS);
+            report("findAll + in-memory filter", time(() -> loadAllAndFilter(connection, managerId)));
+            report("indexed query, all carriers", time(() -> indexedQuery(connection, managerId, null)));
+            report("indexed query, keyset page of " + PAGE_SIZE, time(() -> indexedQuery(connection, managerId, PAGE_SIZE)));
+        }
+    }
+
+    private static void seed(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists user_roles");
+            statement.execute("drop table if exists users");
+            statement.execute("drop table if exists roles");
+            statement.execute("create table roles (id bigint auto_increment primary key, name varchar(20) unique)");
+            statement.execute("create table users (id bigint auto_increment primary key, created_at datetime(6) not null, "
+                    + "updated_at datetime(6) not null, email varchar(100) unique, password varchar(120), created_by bigint)");
+            statement.execute("create index idx_users_created_by_id on users (created_by, id)");
+            statement.execute("create table user_roles (user_id bigint not null, role_id bigint not null, "
+                    + "primary key (user_id, role_id))");
+            statement.execute("insert into roles (name) values ('ROLE_ADMIN'), ('ROLE_CARRIER'), ('ROLE_MANAGER')");
+        }
+        connection.setAutoCommit(false);
+        try (PreparedStatement users = connection.prepareStatement(
+                "insert into users (created_at, updated_at, email, password, created_by) values (now(), now(), ?, 'x', ?)");
+             PreparedStatement roles = connection.prepareStatement("insert into user_roles (user_id, role_id) values (?, ?)")) {
+            for (int i = 1; i <= USERS; i++) {
+                boolean manager = i <= MANAGERS;
+                users.setString(1, "user" + i + "@fleet.test");
+                if (manager) {
+                    users.setNull(2, java.sql.Types.BIGINT);
+                } else {
+                    users.setLong(2, 1 + (i % MANAGERS));
+                }
+                users.addBatch();
+                roles.setLong(1, i);
+                roles.setLong(2, manager ? 3 : 2);
+                roles.addBatch();
+                if (i % 1000 == 0) {
+                    users.executeBatch();
+                    roles.executeBatch();
+                }
+            }
+            users.executeBatch();
+            roles.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private static int loadAllAndFilter(Connection connection, long managerId) throws SQLException {
+        Map<Long, Object[]> users = new HashMap<>();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(LOAD_ALL_SQL)) {
+            while (rs.next()) {
+                Object[] user = users.computeIfAbsent(rs.getLong(1), id -> new Object[3]);
+                user[0] = rs.getString(2);
+                user[1] = rs.getObject(3);
+                if ("ROLE_CARRIER".equals(rs.getString(4))) {
+                    user[2] = Boolean.TRUE;
+                }
+            }
+        }
+        int count = 0;
+        for (Object[] user : users.values()) {
+            if (user[2] != null && user[1] != null && ((Number) user[1]).longValue() == managerId) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int indexedQuery(Connection connection, long managerId, Integer limit) throws SQLException {
+        String sql = limit != null ? CARRIERS_SQL + " limit " + limit : CARRIERS_SQL;
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, managerId);
+            statement.setLong(2, 0L);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        return ids.size();
+    }
+
+    private static long[] time(SqlTask task) throws SQLException {
+        task.run();
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static void report(String name, long[] samples) {
+        System.out.printf("%-40s p50 %8.2f ms   p95 %8.2f ms%n", name,
+                samples[samples.length / 2] / 1e6, samples[(int) (samples.length * 0.95)] / 1e6);
+    }
+
+    @FunctionalInterface
+    private interface SqlTask {
+        int run() throws SQLException;
+    }
+}
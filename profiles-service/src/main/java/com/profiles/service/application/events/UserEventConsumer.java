@@ -1,62 +1,98 @@
 package com.profiles.service.application.events;
 
 import com.profiles.service.domain.model.commands.CreateProfileCommand;
+import com.profiles.service.domain.model.commands.CreateProfilesCommand;
 import com.profiles.service.domain.services.ProfileCommandService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.context.annotation.Bean;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
  * Consumer for events from IAM service
+ * <p>
+ *     UserCreatedEvents are received in batches (see the batch-mode binding in profiles-service.yml)
+ *     and their profiles are inserted together. The batch is acknowledged as a whole; events whose
+ *     profile could not be created are sent to the dead letter queue of user-events one by one, so
+ *     they do not hold back the rest of the batch.
+ * </p>
  */
 @Component
 public class UserEventConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(UserEventConsumer.class);
+    private static final String DEAD_LETTER_BINDING = "userCreatedDeadLetter";
+    private static final String EXCEPTION_MESSAGE_HEADER = "x-exception-message";
+    private static final String METRIC_PREFIX = "profiles.user.events";
+
     private final ProfileCommandService profileCommandService;
+    private final StreamBridge streamBridge;
+    private final DistributionSummary batchSizes;
+    private final Counter deadLettered;
 
-    public UserEventConsumer(ProfileCommandService profileCommandService) {
+    public UserEventConsumer(ProfileCommandService profileCommandService, StreamBridge streamBridge, MeterRegistry meterRegistry) {
         this.profileCommandService = profileCommandService;
+        this.streamBridge = streamBridge;
+        this.batchSizes = DistributionSummary.builder(METRIC_PREFIX + ".batch.size")
+                .description("UserCreatedEvents received per batch")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder(METRIC_PREFIX + ".dead.lettered")
+                .description("UserCreatedEvents sent to the dead letter queue")
+                .register(meterRegistry);
     }
 
     /**
-     * Consumes UserCreatedEvent from IAM service and creates a profile
-     * @return Consumer function that processes UserCreatedEvent
+     * Consumes batches of UserCreatedEvent from IAM service and creates their profiles
+     * @return Consumer function that processes a batch of UserCreatedEvent
      */
     @Bean
-    public Consumer<UserCreatedEvent> userCreated() {
-        return event -> {
-            if (event == null) {
-                log.error("Received null UserCreatedEvent");
+    public Consumer<List<UserCreatedEvent>> userCreated() {
+        return events -> {
+            batchSizes.record(events.size());
+            var accepted = new ArrayList<UserCreatedEvent>(events.size());
+            for (var event : events) {
+                if (event == null || event.userId() == null) {
+                    deadLetter(event, "Invalid UserCreatedEvent: userId is null");
+                } else {
+                    accepted.add(event);
+                }
+            }
+            if (accepted.isEmpty()) {
                 return;
             }
 
-            log.info("Received UserCreatedEvent for userId: {}", event.userId());
-            try {
-                // Validación básica de datos
-                if (event.userId() == null) {
-                    log.error("Invalid UserCreatedEvent: userId is null");
-                    return;
-                }
-
-                var command = new CreateProfileCommand(
-                        event.userId(),
-                        null,
-                        null,
-                        null
-                );
-                var profile = profileCommandService.handle(command);
-                if (profile.isPresent()) {
-                    log.info("Profile created successfully for userId: {}", event.userId());
-                } else {
-                    log.warn("Profile creation returned empty result for userId: {}", event.userId());
-                }
-            } catch (Exception e) {
-                log.error("Failed to create profile for userId: {}", event.userId(), e);
+            var commands = accepted.stream()
+                    .map(event -> new CreateProfileCommand(event.userId(), null, null, null))
+                    .toList();
+            var failures = profileCommandService.handle(new CreateProfilesCommand(commands));
+            for (var failure : failures) {
+                deadLetter(accepted.get(failure.index()), failure.reason());
             }
+            log.info("Created {} profiles from a batch of {} UserCreatedEvents", accepted.size() - failures.size(), events.size());
         };
     }
+
+    /**
+     * Sends the event to the dead letter queue of user-events. If this fails the exception reaches the
+     * binder, which rejects the whole batch to the same queue.
+     */
+    private void deadLetter(UserCreatedEvent event, String reason) {
+        log.error("Failed to create profile for userId: {}: {}", event != null ? event.userId() : null, reason);
+        var message = MessageBuilder.withPayload(event != null ? event : new UserCreatedEvent(null, null))
+                .setHeader(EXCEPTION_MESSAGE_HEADER, reason)
+                .build();
+        if (!streamBridge.send(DEAD_LETTER_BINDING, message)) {
+            throw new IllegalStateException("UserCreatedEvent could not be sent to the dead letter queue");
+        }
+        deadLettered.increment();
+    }
 }
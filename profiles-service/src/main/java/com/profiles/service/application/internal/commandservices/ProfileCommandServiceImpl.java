@@ -1,27 +1,109 @@
 package com.profiles.service.application.internal.commandservices;
 
+import com.profiles.service.application.internal.outboundservices.cache.ProfileCacheService;
 import com.profiles.service.domain.model.aggregates.Profile;
 import com.profiles.service.domain.model.commands.CreateProfileCommand;
+import com.profiles.service.domain.model.commands.CreateProfilesCommand;
 import com.profiles.service.domain.model.commands.UpdateProfileCommand;
+import com.profiles.service.domain.model.valueobjects.ProfileCreationFailure;
 import com.profiles.service.domain.services.ProfileCommandService;
+import com.profiles.service.infrastructure.persistence.jdbc.repositories.ProfileBatchJdbcRepository;
 import com.profiles.service.infrastructure.persistence.jpa.repositories.ProfileRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Profile command service implementation
+ * <p>
+ *     Profiles are created with an upsert on the unique user_id index, so a UserCreatedEvent delivered
+ *     twice creates one profile. The last {@code profiles.recent-user-ids.max-size} user ids given a profile
+ *     are also remembered in memory, least recently used first out, and duplicates of those are dropped
+ *     without reaching the database.
+ * </p>
+ */
 @Service
 public class ProfileCommandServiceImpl implements ProfileCommandService {
+    private static final Logger log = LoggerFactory.getLogger(ProfileCommandServiceImpl.class);
+
     private final ProfileRepository userProfileRepository;
+    private final ProfileBatchJdbcRepository profileBatchJdbcRepository;
+    private final ProfileCacheService profileCacheService;
+    private final Map<Long, Boolean> recentUserIds;
 
-    public ProfileCommandServiceImpl(ProfileRepository userProfileRepository) {
+    public ProfileCommandServiceImpl(ProfileRepository userProfileRepository, ProfileBatchJdbcRepository profileBatchJdbcRepository,
+                                     ProfileCacheService profileCacheService,
+                                     @Value("${profiles.recent-user-ids.max-size:10000}") int recentUserIdsMaxSize) {
         this.userProfileRepository = userProfileRepository;
+        this.profileBatchJdbcRepository = profileBatchJdbcRepository;
+        this.profileCacheService = profileCacheService;
+        this.recentUserIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > recentUserIdsMaxSize;
+            }
+        };
     }
 
     @Override
     public Optional<Profile> handle(CreateProfileCommand command) {
-        var userProfile = new Profile(command);
-        var savedProfile = userProfileRepository.save(userProfile);
-        return Optional.of(savedProfile);
+        if (!isRecent(command.userId())) {
+            profileBatchJdbcRepository.insertIfAbsent(new Profile(command));
+            remember(List.of(command.userId()));
+        }
+        return userProfileRepository.findByUserId(command.userId());
+    }
+
+    /**
+     * Inserts all new profiles with one batched upsert. A bad row makes the whole batch roll back, so
+     * in that case the profiles are inserted one by one to find the rows at fault and keep the others.
+     */
+    @Override
+    public List<ProfileCreationFailure> handle(CreateProfilesCommand command) {
+        var commands = command.profiles();
+        var profiles = new ArrayList<Profile>(commands.size());
+        var indexes = new ArrayList<Integer>(commands.size());
+        var batchUserIds = new HashSet<Long>();
+        for (int i = 0; i < commands.size(); i++) {
+            var userId = commands.get(i).userId();
+            if (batchUserIds.add(userId) && !isRecent(userId)) {
+                profiles.add(new Profile(commands.get(i)));
+                indexes.add(i);
+            }
+        }
+        if (profiles.size() < commands.size()) {
+            log.debug("Discarded {} duplicate profile creations", commands.size() - profiles.size());
+        }
+        if (profiles.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            profileBatchJdbcRepository.insertAllIfAbsent(profiles);
+            remember(profiles.stream().map(Profile::getUserId).toList());
+            return List.of();
+        } catch (DataIntegrityViolationException e) {
+            var failures = new ArrayList<ProfileCreationFailure>();
+            for (int i = 0; i < profiles.size(); i++) {
+                var profile = profiles.get(i);
+                try {
+                    profileBatchJdbcRepository.insertIfAbsent(profile);
+                    remember(List.of(profile.getUserId()));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    failures.add(new ProfileCreationFailure(indexes.get(i), profile.getUserId(), rowFailure.getMostSpecificCause().getMessage()));
+                }
+            }
+            return failures;
+        }
     }
 
     @Override
@@ -37,6 +119,19 @@ public class ProfileCommandServiceImpl implements ProfileCommandService {
         }
         if (command.phoneNumber() != null) { profile.updatePhoneNumber(command.phoneNumber()); }
         var updatedProfile = userProfileRepository.save(profile);
+        profileCacheService.evict(updatedProfile.getUserId());
         return Optional.of(updatedProfile);
     }
+
+    private boolean isRecent(Long userId) {
+        synchronized (recentUserIds) {
+            return recentUserIds.get(userId) != null;
+        }
+    }
+
+    private void remember(List<Long> userIds) {
+        synchronized (recentUserIds) {
+            userIds.forEach(userId -> recentUserIds.put(userId, Boolean.TRUE));
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package com.profiles.service.application.internal.outboundservices.cache;
+
+import com.profiles.service.domain.model.aggregates.Profile;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * ProfileCacheService
+ * <p>
+ *     Interface for the near-cache of profiles read by userId. Query handlers read through it;
+ *     command handlers evict a profile after persisting a change to it, on every replica.
+ * </p>
+ */
+public interface ProfileCacheService {
+    /**
+     * Get the cached profile of a user, loading and caching it on a miss.
+     *
+     * @param userId the ID of the user whose profile is read
+     * @param loader reads the profile from the database on a miss
+     * @return the profile, or empty if the user has none; absent profiles are not cached
+     */
+    Optional<Profile> get(Long userId, Function<Long, Optional<Profile>> loader);
+
+    /**
+     * Get the cached profiles of many users, loading and caching all misses with one call to the loader.
+     *
+     * @param userIds the distinct IDs of the users whose profiles are read
+     * @param loader reads the profiles of the missed user IDs from the database, keyed by user ID
+     * @return the profiles found, keyed by user ID; users without a profile are absent
+     */
+    Map<Long, Profile> getAll(Collection<Long> userIds, Function<Collection<Long>, Map<Long, Profile>> loader);
+
+    /**
+     * Evict the cached profile of a user here and on the other replicas.
+     *
+     * @param userId the ID of the user whose cached profile is discarded
+     */
+    void evict(Long userId);
+}
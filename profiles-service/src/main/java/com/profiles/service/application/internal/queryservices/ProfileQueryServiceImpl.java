@@ -1,30 +1,81 @@
 package com.profiles.service.application.internal.queryservices;
 
+import com.profiles.service.application.internal.outboundservices.cache.ProfileCacheService;
 import com.profiles.service.domain.model.aggregates.Profile;
 import com.profiles.service.domain.model.queries.GetAllProfilesQuery;
 import com.profiles.service.domain.model.queries.GetProfileByIdQuery;
+import com.profiles.service.domain.model.queries.GetProfilesByUserIdsQuery;
+import com.profiles.service.domain.model.queries.StreamAllProfilesQuery;
+import com.profiles.service.domain.model.valueobjects.ProfileSummary;
 import com.profiles.service.domain.services.ProfileQueryService;
+import com.profiles.service.infrastructure.persistence.jdbc.repositories.ProfileSummaryJdbcRepository;
 import com.profiles.service.infrastructure.persistence.jpa.repositories.ProfileRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class ProfileQueryServiceImpl implements ProfileQueryService {
     private final ProfileRepository userProfileRepository;
+    private final ProfileSummaryJdbcRepository profileSummaryJdbcRepository;
+    private final ProfileCacheService profileCacheService;
+    private final int inChunkSize;
 
-    public ProfileQueryServiceImpl(ProfileRepository userProfileRepository) {
+    public ProfileQueryServiceImpl(ProfileRepository userProfileRepository, ProfileSummaryJdbcRepository profileSummaryJdbcRepository,
+                                   ProfileCacheService profileCacheService,
+                                   @Value("${profiles.multi-get.in-chunk-size:500}") int inChunkSize) {
         this.userProfileRepository = userProfileRepository;
+        this.profileSummaryJdbcRepository = profileSummaryJdbcRepository;
+        this.profileCacheService = profileCacheService;
+        this.inChunkSize = inChunkSize;
     }
 
     @Override
     public Optional<Profile> handle(GetProfileByIdQuery query){
-        return userProfileRepository.findByUserId(query.userId());
+        return profileCacheService.get(query.userId(), userProfileRepository::findByUserId);
+    }
+
+    @Override
+    public Map<Long, Profile> handle(GetProfilesByUserIdsQuery query){
+        var userIds = new LinkedHashSet<>(query.userIds());
+        return profileCacheService.getAll(userIds, this::findAllByUserIdIn);
     }
 
     @Override
     public List<Profile> handle(GetAllProfilesQuery query){
-        return userProfileRepository.findAll();
+        if (query.limit() == null && query.afterUserId() == null) {
+            return userProfileRepository.findAll();
+        }
+        var afterUserId = query.afterUserId() != null ? query.afterUserId() : 0L;
+        var limit = query.limit() != null ? Limit.of(query.limit()) : Limit.unlimited();
+        return userProfileRepository.findByUserIdGreaterThanOrderByUserIdAsc(afterUserId, limit);
+    }
+
+    @Override
+    public void handle(StreamAllProfilesQuery query, Consumer<ProfileSummary> consumer){
+        profileSummaryJdbcRepository.streamAfter(query.afterUserId() != null ? query.afterUserId() : 0L, consumer);
+    }
+
+    /**
+     * Loads profiles with one IN query per {@code profiles.multi-get.in-chunk-size} user ids, on the
+     * unique user_id index, so a long id list neither becomes one huge statement nor one query per id.
+     */
+    private Map<Long, Profile> findAllByUserIdIn(Collection<Long> userIds) {
+        var ids = new ArrayList<>(userIds);
+        var profiles = new HashMap<Long, Profile>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += inChunkSize) {
+            var chunk = ids.subList(from, Math.min(from + inChunkSize, ids.size()));
+            userProfileRepository.findAllByUserIdIn(chunk).forEach(profile -> profiles.put(profile.getUserId(), profile));
+        }
+        return profiles;
     }
 }
@@ -6,14 +6,17 @@ import com.profiles.service.domain.model.valueobjects.PhoneNumber;
 import com.profiles.service.shared.domain.model.aggregates.AuditableAbstractAggregateRoot;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 /**
  * UserProfile aggregate root.
  */
 @Entity
+@Table(name = "profiles", indexes = @Index(name = "uk_profiles_user_id", columnList = "user_id", unique = true))
 public class Profile extends AuditableAbstractAggregateRoot<Profile> {
 
-    // User reference identifier (not a foreign key)
+    // User reference identifier (not a foreign key), at most one profile per user
     private Long userId;
 
     @Embedded
@@ -45,6 +48,10 @@ public class Profile extends AuditableAbstractAggregateRoot<Profile> {
 
     public String getFullName() { return name.getFullName(); }
 
+    public String getFirstName() { return name.firstName(); }
+
+    public String getLastName() { return name.lastName(); }
+
     public void updateName(String firstName, String lastName) { this.name = new PersonName(firstName, lastName); }
 
     public void updatePhoneNumber(String phoneNumber) { this.phoneNumber = new PhoneNumber(phoneNumber); }
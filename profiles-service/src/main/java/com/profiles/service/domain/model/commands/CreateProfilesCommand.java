@@ -0,0 +1,9 @@
+package com.profiles.service.domain.model.commands;
+
+import java.util.List;
+
+/**
+ * Create Profiles Command
+ * @param profiles The profiles to create, each one as a {@link CreateProfileCommand}
+ */
+public record CreateProfilesCommand(List<CreateProfileCommand> profiles) {}
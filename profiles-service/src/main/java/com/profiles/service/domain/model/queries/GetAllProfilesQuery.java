@@ -1,4 +1,13 @@
 package com.profiles.service.domain.model.queries;
 
-public record GetAllProfilesQuery() {}
-
+/**
+ * Get All Profiles Query
+ * Results are ordered by userId; afterUserId and limit select one page of them.
+ * @param afterUserId only profiles of users with a greater ID are returned, null to start from the first one
+ * @param limit the maximum number of profiles to return, null for all of them
+ */
+public record GetAllProfilesQuery(Long afterUserId, Integer limit) {
+    public GetAllProfilesQuery() {
+        this(null, null);
+    }
+}
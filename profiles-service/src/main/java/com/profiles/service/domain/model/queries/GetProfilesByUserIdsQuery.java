@@ -0,0 +1,9 @@
+package com.profiles.service.domain.model.queries;
+
+import java.util.List;
+
+/**
+ * Get Profiles By User Ids Query
+ * @param userIds IDs of the users whose profiles are retrieved; may contain repeats
+ */
+public record GetProfilesByUserIdsQuery(List<Long> userIds) {}
@@ -0,0 +1,8 @@
+package com.profiles.service.domain.model.queries;
+
+/**
+ * Stream All Profiles Query
+ * Profiles are delivered one by one in userId order without holding the whole table in memory.
+ * @param afterUserId only profiles of users with a greater ID are streamed, null to start from the first one
+ */
+public record StreamAllProfilesQuery(Long afterUserId) {}
@@ -0,0 +1,9 @@
+package com.profiles.service.domain.model.valueobjects;
+
+/**
+ * Profile Creation Failure
+ * @param index Position of the failed profile in the {@code CreateProfilesCommand}
+ * @param userId ID of the user the profile belongs to
+ * @param reason Why the profile could not be created
+ */
+public record ProfileCreationFailure(int index, Long userId, String reason) {}
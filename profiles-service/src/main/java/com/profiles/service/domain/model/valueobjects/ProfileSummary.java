@@ -0,0 +1,10 @@
+package com.profiles.service.domain.model.valueobjects;
+
+/**
+ * Profile Summary
+ * Read-only view of a profile, as streamed straight from the database
+ * @param userId ID of the user the profile belongs to
+ * @param fullName Full name
+ * @param phoneNumber Phone number
+ */
+public record ProfileSummary(Long userId, String fullName, String phoneNumber) {}
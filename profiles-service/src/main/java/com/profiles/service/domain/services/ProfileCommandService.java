@@ -2,8 +2,11 @@ package com.profiles.service.domain.services;
 
 import com.profiles.service.domain.model.aggregates.Profile;
 import com.profiles.service.domain.model.commands.CreateProfileCommand;
+import com.profiles.service.domain.model.commands.CreateProfilesCommand;
 import com.profiles.service.domain.model.commands.UpdateProfileCommand;
+import com.profiles.service.domain.model.valueobjects.ProfileCreationFailure;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -12,6 +15,7 @@ import java.util.Optional;
 public interface ProfileCommandService {
     /**
      * Handle Create UserProfile Command
+     * If the user already has a profile, nothing is created and the existing profile is returned.
      *
      * @param command The {@link CreateProfileCommand} Command
      * @return An {@link Optional < Profile >} instance if the command is valid, otherwise empty
@@ -19,6 +23,14 @@ public interface ProfileCommandService {
      */
     Optional<Profile> handle(CreateProfileCommand command);
 
+    /**
+     * Handle Create Profiles Command
+     *
+     * @param command The {@link CreateProfilesCommand} Command
+     * @return The profiles that could not be created; every other profile was created or already existed
+     */
+    List<ProfileCreationFailure> handle(CreateProfilesCommand command);
+
     /**
      * Handle Update UserProfile Command
      *
@@ -3,9 +3,14 @@ package com.profiles.service.domain.services;
 import com.profiles.service.domain.model.aggregates.Profile;
 import com.profiles.service.domain.model.queries.GetAllProfilesQuery;
 import com.profiles.service.domain.model.queries.GetProfileByIdQuery;
+import com.profiles.service.domain.model.queries.GetProfilesByUserIdsQuery;
+import com.profiles.service.domain.model.queries.StreamAllProfilesQuery;
+import com.profiles.service.domain.model.valueobjects.ProfileSummary;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * User profile query service.
@@ -23,11 +28,27 @@ public interface ProfileQueryService {
      */
     Optional<Profile> handle(GetProfileByIdQuery query);
 
+    /**
+     * Handle get user profiles by user IDs query.
+     *
+     * @param query the query containing the user IDs
+     * @return the profiles found, keyed by user ID; users without a profile are absent
+     */
+    Map<Long, Profile> handle(GetProfilesByUserIdsQuery query);
+
     /**
      * Handle get all user profiles queries.
      *
-     * @param query the query to get all user profiles
+     * @param query the query to get all user profiles, or one page of them in userId order
      * @return a list of UserProfile
      */
     List<Profile> handle(GetAllProfilesQuery query);
+
+    /**
+     * Handle stream all user profiles queries.
+     *
+     * @param query the query to stream all user profiles
+     * @param consumer receives each profile, in userId order, as it is read
+     */
+    void handle(StreamAllProfilesQuery query, Consumer<ProfileSummary> consumer);
 }
\ No newline at end of file
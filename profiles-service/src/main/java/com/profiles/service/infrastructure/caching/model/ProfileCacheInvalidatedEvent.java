@@ -0,0 +1,7 @@
+package com.profiles.service.infrastructure.caching.model;
+
+/**
+ * Broadcast to every profiles-service replica when a cached profile must be discarded
+ * @param userId ID of the user whose profile changed
+ */
+public record ProfileCacheInvalidatedEvent(Long userId) {}
@@ -0,0 +1,190 @@
+package com.profiles.service.infrastructure.caching.services;
+
+import com.profiles.service.application.internal.outboundservices.cache.ProfileCacheService;
+import com.profiles.service.domain.model.aggregates.Profile;
+import com.profiles.service.infrastructure.caching.model.ProfileCacheInvalidatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Profile near-cache
+ * <p>
+ *     Keeps up to {@code profiles.cache.max-size} profiles in memory, keyed by userId and evicted least
+ *     recently used first, so repeated reads of the same profile do not query the database.
+ * </p>
+ * <p>
+ *     Consistency: an eviction is applied here at once and broadcast on profile-cache-invalidations, which
+ *     every replica consumes through its own anonymous queue. A load that started before an eviction is not
+ *     cached, so a stale read cannot repopulate the cache. If a broadcast is lost, other replicas serve the
+ *     old profile until the entry expires after {@code profiles.cache.ttl}; that TTL is the staleness bound.
+ * </p>
+ */
+@Component
+public class ProfileNearCache implements ProfileCacheService {
+    private static final Logger log = LoggerFactory.getLogger(ProfileNearCache.class);
+    private static final String INVALIDATIONS_BINDING = "profileCacheInvalidations";
+    private static final String METRIC_PREFIX = "profiles.cache";
+
+    private final StreamBridge streamBridge;
+    private final long ttlNanos;
+    private final Map<Long, CachedProfile> cache;
+    private final AtomicLong evictions = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Counter remoteInvalidations;
+
+    public ProfileNearCache(StreamBridge streamBridge,
+                            @Value("${profiles.cache.max-size:10000}") int maxSize,
+                            @Value("${profiles.cache.ttl:5m}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.streamBridge = streamBridge;
+        this.ttlNanos = ttl.toNanos();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedProfile> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Profile reads answered from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Profile reads that queried the database")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictions, AtomicLong::get)
+                .description("Profiles evicted because they changed, here or on another replica")
+                .register(meterRegistry);
+        this.remoteInvalidations = Counter.builder(METRIC_PREFIX + ".invalidations.received")
+                .description("Invalidations received from the profile-cache-invalidations broadcast")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, ProfileNearCache::size)
+                .description("Profiles currently cached")
+                .register(meterRegistry);
+    }
+
+    // inherited javadoc
+    @Override
+    public Optional<Profile> get(Long userId, Function<Long, Optional<Profile>> loader) {
+        long now = System.nanoTime();
+        CachedProfile cached;
+        long evictionsBeforeLoad;
+        synchronized (cache) {
+            cached = cache.get(userId);
+            evictionsBeforeLoad = evictions.get();
+        }
+        if (cached != null && now - cached.expiresAtNanos() < 0) {
+            hits.increment();
+            return Optional.of(cached.profile());
+        }
+        misses.increment();
+        var profile = loader.apply(userId);
+        if (profile.isPresent()) {
+            synchronized (cache) {
+                // an eviction during the load may mean the profile we read is already outdated
+                if (evictions.get() == evictionsBeforeLoad) {
+                    cache.put(userId, new CachedProfile(profile.get(), now + ttlNanos));
+                }
+            }
+        }
+        return profile;
+    }
+
+    // inherited javadoc
+    @Override
+    public Map<Long, Profile> getAll(Collection<Long> userIds, Function<Collection<Long>, Map<Long, Profile>> loader) {
+        long now = System.nanoTime();
+        var profiles = new HashMap<Long, Profile>(userIds.size() * 2);
+        var missing = new ArrayList<Long>();
+        long evictionsBeforeLoad;
+        synchronized (cache) {
+            for (var userId : userIds) {
+                var cached = cache.get(userId);
+                if (cached != null && now - cached.expiresAtNanos() < 0) {
+                    profiles.put(userId, cached.profile());
+                } else {
+                    missing.add(userId);
+                }
+            }
+            evictionsBeforeLoad = evictions.get();
+        }
+        hits.add(profiles.size());
+        misses.add(missing.size());
+        if (missing.isEmpty()) {
+            return profiles;
+        }
+        var loaded = loader.apply(missing);
+        synchronized (cache) {
+            // an eviction during the load may mean some profiles we read are already outdated
+            if (evictions.get() == evictionsBeforeLoad) {
+                loaded.forEach((userId, profile) -> cache.put(userId, new CachedProfile(profile, now + ttlNanos)));
+            }
+        }
+        profiles.putAll(loaded);
+        return profiles;
+    }
+
+    // inherited javadoc
+    @Override
+    public void evict(Long userId) {
+        evictLocally(userId);
+        try {
+            streamBridge.send(INVALIDATIONS_BINDING, new ProfileCacheInvalidatedEvent(userId));
+        } catch (RuntimeException e) {
+            log.warn("Failed to broadcast the invalidation of the profile of userId: {}; other replicas keep it until it expires", userId, e);
+        }
+    }
+
+    /**
+     * Consumes invalidations broadcast by any replica, including this one
+     * @return Consumer function that evicts the profile named by a ProfileCacheInvalidatedEvent
+     */
+    @Bean
+    public Consumer<ProfileCacheInvalidatedEvent> profileCacheInvalidated() {
+        return event -> {
+            if (event == null || event.userId() == null) {
+                return;
+            }
+            remoteInvalidations.increment();
+            evictLocally(event.userId());
+        };
+    }
+
+    private void evictLocally(Long userId) {
+        synchronized (cache) {
+            evictions.incrementAndGet();
+            cache.remove(userId);
+        }
+    }
+
+    private int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private record CachedProfile(Profile profile, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.profiles.service.infrastructure.persistence.jdbc.repositories;
+
+import com.profiles.service.domain.model.aggregates.Profile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Profile batch JDBC repository.
+ * <p>
+ *     Inserts many new profiles with JDBC batches of {@code profiles.bulk.batch-size} rows instead of one
+ *     {@code ProfileRepository.save} per profile. With {@code rewriteBatchedStatements=true} on the MySQL
+ *     connection URL each batch is sent as a single multi-row insert.
+ * </p>
+ * <p>
+ *     Inserts are upserts against the unique index on {@code user_id}: a profile for a user that already
+ *     has one is skipped by the database in the same round trip, so redelivered events are harmless.
+ * </p>
+ */
+@Repository
+public class ProfileBatchJdbcRepository {
+    private static final String INSERT_PROFILE_SQL = "insert into profiles (created_at, updated_at, user_id, first_name, last_name, phone_number) "
+            + "values (?, ?, ?, ?, ?, ?) on duplicate key update id = id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ProfileBatchJdbcRepository(JdbcTemplate jdbcTemplate,
+                                      @Value("${profiles.bulk.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Insert new profiles in one transaction, skipping users that already have one; if any row fails, none is inserted.
+     *
+     * @param profiles the profiles to insert.
+     */
+    @Transactional
+    public void insertAllIfAbsent(List<Profile> profiles) {
+        var now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT_PROFILE_SQL, profiles, batchSize, (ps, profile) -> setValues(ps, profile, now));
+    }
+
+    /**
+     * Insert one new profile, unless its user already has one.
+     *
+     * @param profile the profile to insert.
+     */
+    public void insertIfAbsent(Profile profile) {
+        var now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.update(INSERT_PROFILE_SQL, ps -> setValues(ps, profile, now));
+    }
+
+    private static void setValues(PreparedStatement ps, Profile profile, Timestamp now) throws SQLException {
+        ps.setTimestamp(1, now);
+        ps.setTimestamp(2, now);
+        ps.setLong(3, profile.getUserId());
+        ps.setString(4, profile.getFirstName());
+        ps.setString(5, profile.getLastName());
+        ps.setString(6, profile.getPhoneNumber());
+    }
+}
@@ -0,0 +1,56 @@
+package com.profiles.service.infrastructure.persistence.jdbc.repositories;
+
+import com.profiles.service.domain.model.valueobjects.PersonName;
+import com.profiles.service.domain.model.valueobjects.PhoneNumber;
+import com.profiles.service.domain.model.valueobjects.ProfileSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.function.Consumer;
+
+/**
+ * Profile summary JDBC repository.
+ * <p>
+ *     Streams profiles in userId order through a forward-only, read-only cursor. Rows are fetched
+ *     {@code profiles.stream.fetch-size} at a time (MySQL needs {@code useCursorFetch=true} on the
+ *     connection URL for this to use a server-side cursor) and each one is handed to the consumer as
+ *     soon as it is read, so memory use does not grow with the table.
+ * </p>
+ */
+@Repository
+public class ProfileSummaryJdbcRepository {
+    private static final String STREAM_PROFILES_SQL = "select user_id, first_name, last_name, phone_number from profiles "
+            + "where user_id > ? order by user_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    public ProfileSummaryJdbcRepository(JdbcTemplate jdbcTemplate,
+                                        @Value("${profiles.stream.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Stream the profiles of users with a greater id than the given one, in userId order.
+     *
+     * @param afterUserId only profiles of users with a greater id are streamed.
+     * @param consumer receives each profile as it is read.
+     */
+    public void streamAfter(Long afterUserId, Consumer<ProfileSummary> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(STREAM_PROFILES_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, afterUserId);
+            return statement;
+        }, rs -> {
+            var name = new PersonName(rs.getString(2), rs.getString(3));
+            var phoneNumber = new PhoneNumber(rs.getString(4));
+            consumer.accept(new ProfileSummary(rs.getLong(1), name.getFullName(), phoneNumber.getPhoneNumber()));
+        });
+    }
+}
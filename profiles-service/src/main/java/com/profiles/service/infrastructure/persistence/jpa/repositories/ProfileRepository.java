@@ -1,12 +1,19 @@
 package com.profiles.service.infrastructure.persistence.jpa.repositories;
 
 import com.profiles.service.domain.model.aggregates.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
     Optional<Profile> findByUserId(Long userId);
+
+    List<Profile> findAllByUserIdIn(Collection<Long> userIds);
+
+    List<Profile> findByUserIdGreaterThanOrderByUserIdAsc(Long userId, Limit limit);
 }
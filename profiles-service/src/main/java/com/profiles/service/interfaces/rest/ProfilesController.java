@@ -1,21 +1,35 @@
 package com.profiles.service.interfaces.rest;
 
+import com.profiles.service.domain.model.aggregates.Profile;
 import com.profiles.service.domain.model.queries.GetAllProfilesQuery;
 import com.profiles.service.domain.model.queries.GetProfileByIdQuery;
+import com.profiles.service.domain.model.queries.GetProfilesByUserIdsQuery;
+import com.profiles.service.domain.model.queries.StreamAllProfilesQuery;
 import com.profiles.service.domain.services.ProfileQueryService;
 import com.profiles.service.domain.services.ProfileCommandService;
+import com.profiles.service.interfaces.rest.resources.GetProfilesResource;
+import com.profiles.service.interfaces.rest.resources.ProfileLookupResource;
 import com.profiles.service.interfaces.rest.resources.ProfileResource;
 import com.profiles.service.interfaces.rest.resources.UpdateProfileResource;
+import com.profiles.service.interfaces.rest.transform.ProfileLookupResourceListFromEntitiesAssembler;
 import com.profiles.service.interfaces.rest.transform.ProfileResourceFromEntityAssembler;
+import com.profiles.service.interfaces.rest.transform.ProfileResourceFromSummaryAssembler;
 import com.profiles.service.interfaces.rest.transform.UpdateProfileCommandFromResourceAssembler;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,51 +37,140 @@ import java.util.stream.Collectors;
 @RequestMapping(value = "/api/v1/profiles", produces = MediaType.APPLICATION_JSON_VALUE)
 @Tag(name = "Profiles", description = "Profile Management Endpoints")
 public class ProfilesController {
+    private static final int MAX_LOOKUP_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String NEXT_AFTER_HEADER = "X-Next-After";
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final ProfileQueryService profileQueryService;
     private final ProfileCommandService profileCommandService;
+    private final ObjectMapper objectMapper;
 
-    public ProfilesController(ProfileQueryService profileQueryService, ProfileCommandService profileCommandService) {
+    public ProfilesController(ProfileQueryService profileQueryService, ProfileCommandService profileCommandService,
+                              ObjectMapper objectMapper) {
         this.profileQueryService = profileQueryService;
         this.profileCommandService = profileCommandService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Get a profile by userId
+     * The ETag changes whenever the profile is updated; a request whose If-None-Match carries it gets 304.
      * @param userId the ID of the user whose profile is to be retrieved
+     * @param ifNoneMatch the ETags the client already holds, if any
      * @return ResponseEntity containing the ProfileResource or an error response
      */
     @GetMapping("/{userId}")
     @Operation(summary = "Get a profile by userId")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Profile found"),
+            @ApiResponse(responseCode = "304", description = "Profile not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Profile not found")})
-    public ResponseEntity<ProfileResource> getProfileById(@PathVariable Long userId) {
+    public ResponseEntity<ProfileResource> getProfileById(@PathVariable Long userId,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         var query = new GetProfileByIdQuery(userId);
         var profile = profileQueryService.handle(query);
         if (profile.isEmpty()) { return ResponseEntity.notFound().build(); }
+        var etag = etag(profile.get());
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
         var resource = ProfileResourceFromEntityAssembler.toResourceFromEntity(profile.get());
-        return ResponseEntity.ok(resource);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(resource);
     }
 
     /**
      * Get all profiles
+     * When limit is given, profiles are returned in userId order, only that many of them, and if there may be
+     * more the X-Next-After header holds the value to pass as after to get the next page.
+     * @param after only profiles of users with a greater ID are returned
+     * @param limit the maximum number of profiles to return
      * @return List of ProfileResource
      */
     @GetMapping
     @Operation(summary = "Get all profiles")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Profiles found"),
-            @ApiResponse(responseCode = "204", description = "No profiles found")})
-    public ResponseEntity<List<ProfileResource>> getAllProfiles() {
-        var query = new GetAllProfilesQuery();
+            @ApiResponse(responseCode = "204", description = "No profiles found"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit")})
+    public ResponseEntity<List<ProfileResource>> getAllProfiles(@RequestParam(required = false) Long after,
+                                                                @RequestParam(required = false) Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_PAGE_SIZE)) { return ResponseEntity.badRequest().build(); }
+        var query = new GetAllProfilesQuery(after, limit);
         var profiles = profileQueryService.handle(query);
         if (profiles.isEmpty()) { return ResponseEntity.noContent().build(); }
         var profileResources = profiles.stream()
                 .map(ProfileResourceFromEntityAssembler::toResourceFromEntity)
                 .collect(Collectors.toList());
+        if (limit != null && profileResources.size() == limit) {
+            return ResponseEntity.ok()
+                    .header(NEXT_AFTER_HEADER, String.valueOf(profileResources.get(profileResources.size() - 1).id()))
+                    .body(profileResources);
+        }
         return ResponseEntity.ok(profileResources);
     }
 
+    /**
+     * Stream all profiles
+     * Writes one JSON profile per line, in userId order, while the profiles are read from the database,
+     * so the response size is not bounded by the memory of the service.
+     * @param after only profiles of users with a greater ID are streamed
+     * @return The stream of ProfileResource
+     */
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all profiles", description = "Stream all profiles as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Profiles streamed")})
+    public ResponseEntity<StreamingResponseBody> streamAllProfiles(@RequestParam(required = false) Long after) {
+        var query = new StreamAllProfilesQuery(after);
+        StreamingResponseBody body = outputStream -> profileQueryService.handle(query, profile -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(ProfileResourceFromSummaryAssembler.toResourceFromSummary(profile)));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE)).body(body);
+    }
+
+    /**
+     * Get the profiles of many users
+     * For long id lists use the POST variant; the query string is bounded by URL length limits.
+     * @param userIds the IDs of the users whose profiles are to be retrieved, comma separated
+     * @return One lookup result per requested ID, in request order, with explicit misses
+     */
+    @GetMapping(params = "userIds")
+    @Operation(summary = "Get the profiles of many users")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Profiles looked up"),
+            @ApiResponse(responseCode = "400", description = "No user IDs, a blank ID or more than 1000 IDs")})
+    public ResponseEntity<List<ProfileLookupResource>> getProfilesByUserIds(@RequestParam List<Long> userIds) {
+        return lookup(userIds);
+    }
+
+    /**
+     * Get the profiles of many users, with the IDs in the request body
+     * @param resource the resource containing the IDs of the users whose profiles are to be retrieved
+     * @return One lookup result per requested ID, in request order, with explicit misses
+     */
+    @PostMapping(value = "/lookup", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the profiles of many users", description = "Same as GET /api/v1/profiles?userIds=..., for ID lists too long for a URL")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Profiles looked up"),
+            @ApiResponse(responseCode = "400", description = "No user IDs, a blank ID or more than 1000 IDs")})
+    public ResponseEntity<List<ProfileLookupResource>> lookupProfiles(@RequestBody GetProfilesResource resource) {
+        return lookup(resource.userIds());
+    }
+
+    private ResponseEntity<List<ProfileLookupResource>> lookup(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty() || userIds.size() > MAX_LOOKUP_SIZE || userIds.contains(null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        var profiles = profileQueryService.handle(new GetProfilesByUserIdsQuery(userIds));
+        return ResponseEntity.ok(ProfileLookupResourceListFromEntitiesAssembler.toResourceListFromEntities(userIds, profiles));
+    }
+
     /**
      * Update a profile by userId
      * @param userId the ID of the user whose profile is to be updated
@@ -88,6 +191,25 @@ public class ProfilesController {
         var updatedProfile = profileCommandService.handle(command);
         if (updatedProfile.isEmpty()) { return ResponseEntity.badRequest().build(); }
         var profileResource = ProfileResourceFromEntityAssembler.toResourceFromEntity(updatedProfile.get());
-        return ResponseEntity.ok(profileResource);
+        return ResponseEntity.ok().eTag(etag(updatedProfile.get())).body(profileResource);
+    }
+
+    /**
+     * Strong ETag of a profile, derived from when it was last modified
+     */
+    private static String etag(Profile profile) {
+        return "\"" + profile.getUpdatedAt().getTime() + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header names the given ETag, compared weakly as RFC 9110 requires
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) { return false; }
+        for (var candidate : ifNoneMatch.split(",")) {
+            var tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) { return true; }
+        }
+        return false;
     }
 }
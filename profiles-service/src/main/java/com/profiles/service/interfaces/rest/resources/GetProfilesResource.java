@@ -0,0 +1,8 @@
+package com.profiles.service.interfaces.rest.resources;
+
+import java.util.List;
+
+/**
+ * Resource for retrieving the profiles of many users in one request.
+ */
+public record GetProfilesResource(List<Long> userIds) {}
@@ -0,0 +1,7 @@
+package com.profiles.service.interfaces.rest.resources;
+
+/**
+ * Result of looking up the profile of one user.
+ * When no profile exists for the user, found is false and profile is null.
+ */
+public record ProfileLookupResource(Long userId, boolean found, ProfileResource profile) {}
@@ -0,0 +1,23 @@
+package com.profiles.service.interfaces.rest.transform;
+
+import com.profiles.service.domain.model.aggregates.Profile;
+import com.profiles.service.interfaces.rest.resources.ProfileLookupResource;
+
+import java.util.List;
+import java.util.Map;
+
+public class ProfileLookupResourceListFromEntitiesAssembler {
+    /**
+     * One lookup result per requested user id, in request order, with an explicit miss for users without a profile
+     */
+    public static List<ProfileLookupResource> toResourceListFromEntities(List<Long> userIds, Map<Long, Profile> profiles) {
+        return userIds.stream()
+                .map(userId -> {
+                    var profile = profiles.get(userId);
+                    return profile != null
+                            ? new ProfileLookupResource(userId, true, ProfileResourceFromEntityAssembler.toResourceFromEntity(profile))
+                            : new ProfileLookupResource(userId, false, null);
+                })
+                .toList();
+    }
+}
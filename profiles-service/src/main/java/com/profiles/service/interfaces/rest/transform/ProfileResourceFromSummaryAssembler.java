@@ -0,0 +1,10 @@
+package com.profiles.service.interfaces.rest.transform;
+
+import com.profiles.service.domain.model.valueobjects.ProfileSummary;
+import com.profiles.service.interfaces.rest.resources.ProfileResource;
+
+public class ProfileResourceFromSummaryAssembler {
+    public static ProfileResource toResourceFromSummary(ProfileSummary summary) {
+        return new ProfileResource(summary.userId(), summary.fullName(), summary.phoneNumber());
+    }
+}
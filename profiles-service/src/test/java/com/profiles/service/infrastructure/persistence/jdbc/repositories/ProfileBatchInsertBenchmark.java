@@ -0,0 +1,75 @@
+package com.profiles.service.infrastructure.persistence.jdbc.repositories;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+/**
+ * Benchmark of profile creation throughput for the batch sizes of the user-events consumer.
+ * <p>
+ *     Inserts the same number of profiles with the statement used by {@link ProfileBatchJdbcRepository},
+ *     committing once per batch as the consumer does once per acknowledged batch, for batch sizes 1, 50
+ *     and 500. It builds its own table in a scratch database, so it never touches profiles_db. Broker
+ *     round trips are not included. Run it manually:
+ * </p>
+ * <pre>
+ *     java -cp ... ProfileBatchInsertBenchmark \
+ *         -Dbenchmark.jdbc.url=jdbc:mysql://localhost:3306/profiles_benchmark?createDatabaseIfNotExist=true&amp;rewriteBatchedStatements=true \
+ *         -Dbenchmark.jdbc.user=root -Dbenchmark.jdbc.password=...
+ * </pre>
+ */
+public class ProfileBatchInsertBenchmark {
+    private static final int PROFILES = 20_000;
+    private static final int[] BATCH_SIZES = {1, 50, 500};
+
+    private static final String INSERT_PROFILE_SQL = "insert into profiles (created_at, updated_at, user_id, first_name, last_name, phone_number) "
+            + "values (?, ?, ?, '', '', '') on duplicate key update id = id";
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("benchmark.jdbc.url",
+                "jdbc:mysql://localhost:3306/profiles_benchmark?createDatabaseIfNotExist=true&rewriteBatchedStatements=true");
+        try (Connection connection = DriverManager.getConnection(url,
+                System.getProperty("benchmark.jdbc.user", "root"),
+                System.getProperty("benchmark.jdbc.password", ""))) {
+            for (int batchSize : BATCH_SIZES) {
+                createTable(connection);
+                long start = System.nanoTime();
+                insert(connection, batchSize);
+                long elapsed = System.nanoTime() - start;
+                System.out.printf("batch size %4d   %8.0f profiles/s   %8.2f ms per batch%n", batchSize,
+                        PROFILES / (elapsed / 1e9), elapsed / 1e6 / Math.ceil(PROFILES / (double) batchSize));
+            }
+        }
+    }
+
+    private static void createTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists profiles");
+            statement.execute("create table profiles (id bigint auto_increment primary key, created_at datetime(6) not null, "
+                    + "updated_at datetime(6) not null, user_id bigint, first_name varchar(255), last_name varchar(255), "
+                    + "phone_number varchar(255))");
+            statement.execute("create unique index uk_profiles_user_id on profiles (user_id)");
+        }
+    }
+
+    private static void insert(Connection connection, int batchSize) throws SQLException {
+        connection.setAutoCommit(false);
+        var now = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_PROFILE_SQL)) {
+            for (int i = 1; i <= PROFILES; i++) {
+                insert.setTimestamp(1, now);
+                insert.setTimestamp(2, now);
+                insert.setLong(3, i);
+                insert.addBatch();
+                if (i % batchSize == 0 || i == PROFILES) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        connection.setAutoCommit(true);
+    }
+}